@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.shrinkwrap.api.gradle.archive.importer.embedded;
+
+import java.util.List;
+
+/**
+ * Report of a Gradle build run by the importer, with the outcome and duration of each executed task.
+ */
+public interface BuildReport {
+
+    /**
+     * @return {@code true} if the build was not launched because its output was known to be up to date
+     */
+    boolean isSkipped();
+
+    /**
+     * @return {@code true} if the build was cancelled, either by the cancellation token or after the timeout
+     */
+    boolean isCancelled();
+
+    /**
+     * @return duration of the whole build in milliseconds
+     */
+    long getDuration();
+
+    /**
+     * @return tasks of the build, in the order they finished
+     */
+    List<TaskExecution> getTasks();
+
+    /**
+     * Outcome of a single task.
+     */
+    enum TaskOutcome {
+        EXECUTED, UP_TO_DATE, FROM_CACHE, SKIPPED, FAILED
+    }
+
+    /**
+     * Execution of a single task of the build.
+     */
+    interface TaskExecution {
+
+        /**
+         * @return path of the task, for example {@code :module:jar}
+         */
+        String getPath();
+
+        TaskOutcome getOutcome();
+
+        /**
+         * @return duration of the task in milliseconds
+         */
+        long getDuration();
+    }
+}
@@ -18,6 +18,11 @@
 package org.jboss.shrinkwrap.api.gradle.archive.importer.embedded;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.gradle.tooling.CancellationToken;
+import org.gradle.tooling.events.ProgressListener;
 
 /**
  * @author <a href="mailto:mmatloka@gmail.com">Michal Matloka</a>
@@ -55,4 +60,38 @@ public interface ConfigurationStage extends BuildStage {
      *            JVM arguments
      */
     ConfigurationStage setJvmArguments(String... jvmArguments);
+
+    /**
+     * Adds listener which receives the progress events of the build as they happen.
+     *
+     * @param listener
+     *            Tooling API progress listener
+     */
+    ConfigurationStage addProgressListener(ProgressListener listener);
+
+    /**
+     * Sets token which cancels the build when a cancellation is requested on it.
+     *
+     * @param cancellationToken
+     *            Tooling API cancellation token
+     */
+    ConfigurationStage withCancellationToken(CancellationToken cancellationToken);
+
+    /**
+     * Cancels the build if it doesn't finish in the given time. Default: no timeout.
+     *
+     * @param timeout
+     *            Maximum duration of the build
+     * @param unit
+     *            Unit of the timeout
+     */
+    ConfigurationStage withTimeout(long timeout, TimeUnit unit);
+
+    /**
+     * Sets consumer which receives the report of the build when it is finished, including failed and cancelled builds.
+     *
+     * @param reportConsumer
+     *            Consumer of the build report
+     */
+    ConfigurationStage withBuildReport(Consumer<BuildReport> reportConsumer);
 }
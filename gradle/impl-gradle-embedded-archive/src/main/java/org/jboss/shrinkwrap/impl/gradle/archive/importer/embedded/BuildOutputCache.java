@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.shrinkwrap.impl.gradle.archive.importer.embedded;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide record of the last build of each importer configuration together with the archive it produced. The build
+ * is identified by a fingerprint of all files of the Gradle build, starting from the nearest directory containing a
+ * settings script, except for build directories and hidden files; the files are represented by their path, size and
+ * time of the last modification.
+ * <p>
+ * A recorded archive is reused only if Gradle reported all tasks of the recorded build as up to date, so the same
+ * inputs are known to produce the same archive, and if the archive itself is unchanged.
+ * </p>
+ */
+final class BuildOutputCache {
+
+    private static final String BUILD_DIR = "build";
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private BuildOutputCache() {
+    }
+
+    /**
+     * Returns the archive of the recorded build of the given configuration, or {@code null} if the build has to be run.
+     */
+    static File getUpToDateArchive(String configuration, String fingerprint) {
+        final Entry entry = ENTRIES.get(configuration);
+        if (entry == null || fingerprint == null || !entry.upToDate || !entry.fingerprint.equals(fingerprint)
+            || entry.archive.lastModified() != entry.archiveLastModified || entry.archive.length() != entry.archiveLength) {
+            return null;
+        }
+        return entry.archive;
+    }
+
+    static void store(String configuration, String fingerprint, File archive, boolean upToDate) {
+        if (fingerprint == null) {
+            return;
+        }
+        ENTRIES.put(configuration, new Entry(fingerprint, archive, upToDate));
+    }
+
+    /**
+     * Returns the fingerprint of the build containing the given project, or {@code null} if the files couldn't be read.
+     */
+    static String fingerprint(File projectDir) {
+        final Path buildRoot = findBuildRoot(projectDir.getAbsoluteFile().toPath());
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Files.walkFileTree(buildRoot, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(buildRoot)) {
+                        final String name = dir.getFileName().toString();
+                        if (name.startsWith(".") || BUILD_DIR.equals(name)) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    digest.update((buildRoot.relativize(file) + ":" + attrs.size() + ":"
+                        + attrs.lastModifiedTime().toMillis() + "\n").getBytes(StandardCharsets.UTF_8));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            final StringBuilder fingerprint = new StringBuilder();
+            for (byte b : digest.digest()) {
+                fingerprint.append(String.format("%02x", b));
+            }
+            return fingerprint.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static Path findBuildRoot(Path projectDir) {
+        for (Path dir = projectDir; dir != null; dir = dir.getParent()) {
+            if (Files.isRegularFile(dir.resolve("settings.gradle"))
+                || Files.isRegularFile(dir.resolve("settings.gradle.kts"))) {
+                return dir;
+            }
+        }
+        return projectDir;
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final File archive;
+        private final long archiveLastModified;
+        private final long archiveLength;
+        private final boolean upToDate;
+
+        private Entry(String fingerprint, File archive, boolean upToDate) {
+            this.fingerprint = fingerprint;
+            this.archive = archive;
+            this.archiveLastModified = archive.lastModified();
+            this.archiveLength = archive.length();
+            this.upToDate = upToDate;
+        }
+    }
+}
@@ -19,50 +19,81 @@ package org.jboss.shrinkwrap.impl.gradle.archive.importer.embedded;
 
 import java.io.File;
 import java.net.URI;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.gradle.tooling.BuildCancelledException;
 import org.gradle.tooling.BuildLauncher;
+import org.gradle.tooling.CancellationToken;
+import org.gradle.tooling.CancellationTokenSource;
 import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.events.OperationType;
+import org.gradle.tooling.events.ProgressListener;
 import org.gradle.tooling.model.DomainObjectSet;
 import org.gradle.tooling.model.GradleProject;
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.Assignable;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.gradle.archive.importer.embedded.BuildReport;
 import org.jboss.shrinkwrap.api.gradle.archive.importer.embedded.ConfigurationStage;
 import org.jboss.shrinkwrap.api.gradle.archive.importer.embedded.DistributionConfigurationStage;
 import org.jboss.shrinkwrap.api.gradle.archive.importer.embedded.EmbeddedGradleImporter;
 import org.jboss.shrinkwrap.api.importer.ZipImporter;
 import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.resolver.impl.gradle.GradleConnectionPool;
 
 /**
  * @author <a href="mailto:mmatloka@gmail.com">Michal Matloka</a>
  */
 public class EmbeddedGradleImporterImpl implements EmbeddedGradleImporter, DistributionConfigurationStage {
 
+    private static final Logger log = Logger.getLogger(EmbeddedGradleImporterImpl.class.getName());
+
     private static final String SAX_PARSER_FACTORY_KEY = "javax.xml.parsers.SAXParserFactory";
 
-    private final Archive<?> archive;
+    private static final long CANCELLATION_CHECK_PERIOD_MILLIS = 100;
 
-    private final GradleConnector connector = GradleConnector.newConnector();
+    private final Archive<?> archive;
 
     private String[] tasks = new String[] { "build" };
     private String[] arguments = new String[] { "--exclude-task", "test" };
 
-    private BuildLauncher buildLauncher;
+    private File projectDir;
+
+    private String gradleVersion;
+
+    private URI gradleDistribution;
+
+    private File gradleInstallation;
 
-    private ProjectConnection projectConnection;
+    private File gradleUserHomeDir;
+
+    private File javaHome;
+
+    private String[] jvmArguments;
+
+    private final List<ProgressListener> progressListeners = new ArrayList<>();
+
+    private CancellationToken cancellationToken;
+
+    private long timeoutMillis;
+
+    private Consumer<BuildReport> reportConsumer;
 
     private String projectName;
 
     private File buildResult;
 
-    private BuildLauncher getBuildLauncher() {
-        if (buildLauncher == null) {
-            projectConnection = connector.connect();
-            buildLauncher = projectConnection.newBuild();
-        }
-        return buildLauncher;
-    }
+    private File builtArchive;
 
     public EmbeddedGradleImporterImpl(Archive<?> archive) {
         this.archive = archive;
@@ -80,7 +111,7 @@ public class EmbeddedGradleImporterImpl implements EmbeddedGradleImporter, Distr
         }
 
         projectName = absoluteFile.getName();
-        connector.forProjectDirectory(absoluteFile);
+        this.projectDir = absoluteFile;
         return this;
     }
 
@@ -98,17 +129,11 @@ public class EmbeddedGradleImporterImpl implements EmbeddedGradleImporter, Distr
 
     @Override
     public <TYPE extends Assignable> TYPE as(final Class<TYPE> clazz) {
-        final File result;
-        if (buildResult == null) {
-            result = importFromDefaultLibsDirectory();
-        } else {
-            result = importFromConfiguredPath();
-        }
-        return ShrinkWrap.create(ZipImporter.class, archive.getName()).importFrom(result).as(clazz);
+        return ShrinkWrap.create(ZipImporter.class, archive.getName()).importFrom(builtArchive).as(clazz);
     }
 
-    private File importFromDefaultLibsDirectory() {
-        final GradleProject currentGradleProject = findCurrentGradleProject();
+    private File importFromDefaultLibsDirectory(final ProjectConnection connection) {
+        final GradleProject currentGradleProject = findCurrentGradleProject(connection);
         final File buildDir = currentGradleProject.getBuildDirectory();
         final File libsDir = new File(buildDir, "libs");
         final File[] results = libsDir.listFiles((dir, name) -> name.startsWith(currentGradleProject.getName()));
@@ -121,12 +146,8 @@ public class EmbeddedGradleImporterImpl implements EmbeddedGradleImporter, Distr
         return results[0];
     }
 
-    private File importFromConfiguredPath() {
-        return buildResult;
-    }
-
-    private GradleProject findCurrentGradleProject() {
-        final GradleProject rootGradleProject = projectConnection.getModel(GradleProject.class);
+    private GradleProject findCurrentGradleProject(final ProjectConnection connection) {
+        final GradleProject rootGradleProject = connection.getModel(GradleProject.class);
         if (!rootGradleProject.getName().equals(projectName)) {
             final GradleProject child = findChildProject(rootGradleProject, projectName);
             if (child != null) {
@@ -136,7 +157,6 @@ public class EmbeddedGradleImporterImpl implements EmbeddedGradleImporter, Distr
         }
         return rootGradleProject;
     }
-
     private GradleProject findChildProject(GradleProject gradleProject, String childProjectName) {
         final DomainObjectSet<? extends GradleProject> children = gradleProject.getChildren();
         for (GradleProject child : children) {
@@ -157,19 +177,19 @@ public class EmbeddedGradleImporterImpl implements EmbeddedGradleImporter, Distr
 
     @Override
     public ConfigurationStage useGradleVersion(final String version) {
-        connector.useGradleVersion(version);
+        this.gradleVersion = version;
         return this;
     }
 
     @Override
     public ConfigurationStage useDistribution(final URI gradleDistribution) {
-        connector.useDistribution(gradleDistribution);
+        this.gradleDistribution = gradleDistribution;
         return this;
     }
 
     @Override
     public ConfigurationStage useInstallation(final File gradleHome) {
-        connector.useInstallation(gradleHome);
+        this.gradleInstallation = gradleHome;
         return this;
     }
 
@@ -180,7 +200,7 @@ public class EmbeddedGradleImporterImpl implements EmbeddedGradleImporter, Distr
 
     @Override
     public ConfigurationStage useGradleUserHomeDir(final File gradleUserHomeDir) {
-        connector.useGradleUserHomeDir(gradleUserHomeDir);
+        this.gradleUserHomeDir = gradleUserHomeDir;
         return this;
     }
 
@@ -198,24 +218,132 @@ public class EmbeddedGradleImporterImpl implements EmbeddedGradleImporter, Distr
 
     @Override
     public ConfigurationStage setJavaHome(final File javaHome) {
-        getBuildLauncher().setJavaHome(javaHome);
+        this.javaHome = javaHome;
         return this;
     }
 
     @Override
     public ConfigurationStage setJvmArguments(final String... jvmArguments) {
-        getBuildLauncher().setJvmArguments(jvmArguments);
+        this.jvmArguments = jvmArguments;
+        return this;
+    }
+
+    @Override
+    public ConfigurationStage addProgressListener(final ProgressListener listener) {
+        Validate.notNull(listener, "Progress listener can not be null");
+        this.progressListeners.add(listener);
+        return this;
+    }
+
+    @Override
+    public ConfigurationStage withCancellationToken(final CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+        return this;
+    }
+
+    @Override
+    public ConfigurationStage withTimeout(final long timeout, final TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+        this.timeoutMillis = unit.toMillis(timeout);
+        return this;
+    }
+
+    @Override
+    public ConfigurationStage withBuildReport(final Consumer<BuildReport> reportConsumer) {
+        this.reportConsumer = reportConsumer;
         return this;
     }
 
     @Override
     public Assignable importBuildOutput() {
-        final String oldValue = removeSAXParserFactoryProperty();
-        getBuildLauncher().forTasks(tasks).withArguments(arguments).run();
-        setSAXParserFactoryProperty(oldValue);
+        final String configuration = getConfiguration();
+        final String fingerprint = BuildOutputCache.fingerprint(projectDir);
+        final File upToDateArchive = BuildOutputCache.getUpToDateArchive(configuration, fingerprint);
+        if (upToDateArchive != null) {
+            log.fine("Gradle build of " + projectDir + " skipped as up to date");
+            builtArchive = upToDateArchive;
+            report(new GradleBuildReport(true, false, 0, new ArrayList<>()));
+            return this;
+        }
+
+        final TaskOutcomeListener taskOutcomeListener = new TaskOutcomeListener();
+        final CancellationTokenSource cancellationTokenSource = cancellationToken != null || timeoutMillis > 0
+            ? GradleConnector.newCancellationTokenSource() : null;
+        final long start = System.nanoTime();
+        ScheduledFuture<?> cancellationCheck = null;
+        if (cancellationTokenSource != null) {
+            // a build cancelled beforehand is not launched at all
+            checkCancellation(cancellationTokenSource, start);
+            cancellationCheck = Watchdog.EXECUTOR.scheduleAtFixedRate(
+                () -> checkCancellation(cancellationTokenSource, start), CANCELLATION_CHECK_PERIOD_MILLIS,
+                CANCELLATION_CHECK_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        try {
+            builtArchive = GradleConnectionPool.withConnection(projectDir, gradleVersion, gradleDistribution,
+                gradleInstallation, gradleUserHomeDir, connection -> {
+                    final BuildLauncher buildLauncher = connection.newBuild().forTasks(tasks).withArguments(arguments);
+                    if (javaHome != null) {
+                        buildLauncher.setJavaHome(javaHome);
+                    }
+                    if (jvmArguments != null) {
+                        buildLauncher.setJvmArguments(jvmArguments);
+                    }
+                    buildLauncher.addProgressListener(taskOutcomeListener, EnumSet.of(OperationType.TASK));
+                    for (ProgressListener progressListener : progressListeners) {
+                        buildLauncher.addProgressListener(progressListener);
+                    }
+                    if (cancellationTokenSource != null) {
+                        buildLauncher.withCancellationToken(cancellationTokenSource.token());
+                    }
+
+                    final String oldValue = removeSAXParserFactoryProperty();
+                    try {
+                        buildLauncher.run();
+                    } catch (BuildCancelledException e) {
+                        if (isTimedOut(start)) {
+                            throw new IllegalStateException(
+                                "Gradle build of " + projectDir + " did not finish within " + timeoutMillis + " ms", e);
+                        }
+                        throw e;
+                    } finally {
+                        setSAXParserFactoryProperty(oldValue);
+                    }
+                    log.fine("Gradle build of " + projectDir + " finished, tasks: " + taskOutcomeListener);
+
+                    final File result = buildResult != null ? buildResult : importFromDefaultLibsDirectory(connection);
+                    BuildOutputCache.store(configuration, fingerprint, result, taskOutcomeListener.isUpToDate());
+                    return result;
+                });
+        } finally {
+            if (cancellationCheck != null) {
+                cancellationCheck.cancel(false);
+            }
+            report(new GradleBuildReport(false,
+                cancellationTokenSource != null && cancellationTokenSource.token().isCancellationRequested(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), taskOutcomeListener.getTasks()));
+        }
         return this;
     }
 
+    private void checkCancellation(final CancellationTokenSource cancellationTokenSource, final long start) {
+        if ((cancellationToken != null && cancellationToken.isCancellationRequested()) || isTimedOut(start)) {
+            cancellationTokenSource.cancel();
+        }
+    }
+
+    private boolean isTimedOut(final long start) {
+        return timeoutMillis > 0 && System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    private void report(final GradleBuildReport report) {
+        log.fine("Gradle build of " + projectDir + ": " + report);
+        if (reportConsumer != null) {
+            reportConsumer.accept(report);
+        }
+    }
+
     @Override
     public Assignable importBuildOutput(File buildResult) {
         this.buildResult = buildResult.getAbsoluteFile();
@@ -227,6 +355,12 @@ public class EmbeddedGradleImporterImpl implements EmbeddedGradleImporter, Distr
         return importBuildOutput(new File(buildResult));
     }
 
+    private String getConfiguration() {
+        return projectDir + "|" + gradleVersion + "|" + gradleDistribution + "|" + gradleInstallation + "|"
+            + gradleUserHomeDir + "|" + Arrays.toString(tasks) + "|" + Arrays.toString(arguments) + "|" + javaHome
+            + "|" + Arrays.toString(jvmArguments) + "|" + buildResult;
+    }
+
     private String removeSAXParserFactoryProperty() {
         // solution for https://issues.jboss.org/browse/SHRINKRES-212
         final Object value = System.getProperties().remove(SAX_PARSER_FACTORY_KEY);
@@ -238,4 +372,15 @@ public class EmbeddedGradleImporterImpl implements EmbeddedGradleImporter, Distr
             System.setProperty(SAX_PARSER_FACTORY_KEY, oldValue);
         }
     }
+
+    /**
+     * Holder of the thread checking the cancellation of builds, started with the first build which can be cancelled.
+     */
+    private static final class Watchdog {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "gradle-importer-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
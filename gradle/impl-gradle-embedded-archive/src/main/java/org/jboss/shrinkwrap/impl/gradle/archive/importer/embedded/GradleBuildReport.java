@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.shrinkwrap.impl.gradle.archive.importer.embedded;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.shrinkwrap.api.gradle.archive.importer.embedded.BuildReport;
+
+/**
+ * Immutable {@link BuildReport}.
+ */
+class GradleBuildReport implements BuildReport {
+
+    private final boolean skipped;
+    private final boolean cancelled;
+    private final long duration;
+    private final List<TaskExecution> tasks;
+
+    GradleBuildReport(boolean skipped, boolean cancelled, long duration, List<TaskExecution> tasks) {
+        this.skipped = skipped;
+        this.cancelled = cancelled;
+        this.duration = duration;
+        this.tasks = Collections.unmodifiableList(new ArrayList<>(tasks));
+    }
+
+    @Override
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public long getDuration() {
+        return duration;
+    }
+
+    @Override
+    public List<TaskExecution> getTasks() {
+        return tasks;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+        if (skipped) {
+            report.append("skipped as up to date");
+        } else {
+            report.append(duration).append(" ms").append(cancelled ? ", cancelled" : "");
+            for (TaskExecution task : tasks) {
+                report.append(", ").append(task);
+            }
+        }
+        return report.toString();
+    }
+
+    static class GradleTaskExecution implements TaskExecution {
+
+        private final String path;
+        private final TaskOutcome outcome;
+        private final long duration;
+
+        GradleTaskExecution(String path, TaskOutcome outcome, long duration) {
+            this.path = path;
+            this.outcome = outcome;
+            this.duration = duration;
+        }
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public TaskOutcome getOutcome() {
+            return outcome;
+        }
+
+        @Override
+        public long getDuration() {
+            return duration;
+        }
+
+        @Override
+        public String toString() {
+            return path + " " + outcome + " " + duration + " ms";
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.shrinkwrap.impl.gradle.archive.importer.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gradle.tooling.events.ProgressEvent;
+import org.gradle.tooling.events.ProgressListener;
+import org.gradle.tooling.events.task.TaskExecutionResult;
+import org.gradle.tooling.events.task.TaskFailureResult;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+import org.gradle.tooling.events.task.TaskOperationResult;
+import org.gradle.tooling.events.task.TaskSkippedResult;
+import org.gradle.tooling.events.task.TaskSuccessResult;
+import org.gradle.tooling.model.UnsupportedMethodException;
+import org.jboss.shrinkwrap.api.gradle.archive.importer.embedded.BuildReport.TaskExecution;
+import org.jboss.shrinkwrap.api.gradle.archive.importer.embedded.BuildReport.TaskOutcome;
+
+/**
+ * Collects the outcomes and durations of the tasks of a build.
+ */
+class TaskOutcomeListener implements ProgressListener {
+
+    private final List<TaskExecution> tasks = new ArrayList<>();
+    private boolean workDone;
+
+    @Override
+    public synchronized void statusChanged(ProgressEvent event) {
+        if (!(event instanceof TaskFinishEvent)) {
+            return;
+        }
+        final TaskFinishEvent finishEvent = (TaskFinishEvent) event;
+        final TaskOperationResult result = finishEvent.getResult();
+        final TaskOutcome outcome = toOutcome(result);
+        tasks.add(new GradleBuildReport.GradleTaskExecution(finishEvent.getDescriptor().getTaskPath(), outcome,
+            result.getEndTime() - result.getStartTime()));
+        workDone |= didWork(outcome, result);
+    }
+
+    /**
+     * @return {@code true} if the build run some tasks and all of them were up to date, skipped or had nothing to do
+     */
+    synchronized boolean isUpToDate() {
+        return !tasks.isEmpty() && !workDone;
+    }
+
+    synchronized List<TaskExecution> getTasks() {
+        return new ArrayList<>(tasks);
+    }
+
+    private static boolean didWork(TaskOutcome outcome, TaskOperationResult result) {
+        if (outcome == TaskOutcome.UP_TO_DATE || outcome == TaskOutcome.SKIPPED) {
+            return false;
+        }
+        // outputs loaded from the build cache are changed as well, but lifecycle tasks without actions, such as build
+        // or check, are never reported as up to date although they have no reason to be executed
+        if (outcome == TaskOutcome.EXECUTED && result instanceof TaskExecutionResult) {
+            try {
+                final List<String> executionReasons = ((TaskExecutionResult) result).getExecutionReasons();
+                return executionReasons == null || !executionReasons.isEmpty();
+            } catch (UnsupportedMethodException e) {
+                // Gradle older than 3.5
+                return true;
+            }
+        }
+        return true;
+    }
+
+    private static TaskOutcome toOutcome(TaskOperationResult result) {
+        if (result instanceof TaskFailureResult) {
+            return TaskOutcome.FAILED;
+        } else if (result instanceof TaskSkippedResult) {
+            return TaskOutcome.SKIPPED;
+        } else if (result instanceof TaskSuccessResult && ((TaskSuccessResult) result).isFromCache()) {
+            return TaskOutcome.FROM_CACHE;
+        } else if (result instanceof TaskSuccessResult && ((TaskSuccessResult) result).isUpToDate()) {
+            return TaskOutcome.UP_TO_DATE;
+        }
+        return TaskOutcome.EXECUTED;
+    }
+
+    @Override
+    public synchronized String toString() {
+        final int[] counts = new int[TaskOutcome.values().length];
+        for (TaskExecution task : tasks) {
+            counts[task.getOutcome().ordinal()]++;
+        }
+        return counts[TaskOutcome.UP_TO_DATE.ordinal()] + counts[TaskOutcome.SKIPPED.ordinal()] + " up to date, "
+            + counts[TaskOutcome.EXECUTED.ordinal()] + " executed, " + counts[TaskOutcome.FROM_CACHE.ordinal()]
+            + " from cache, " + counts[TaskOutcome.FAILED.ordinal()] + " failed";
+    }
+}
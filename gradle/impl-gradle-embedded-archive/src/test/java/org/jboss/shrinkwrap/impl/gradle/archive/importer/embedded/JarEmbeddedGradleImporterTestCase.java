@@ -17,20 +17,38 @@
 
 package org.jboss.shrinkwrap.impl.gradle.archive.importer.embedded;
 
+import org.gradle.tooling.BuildCancelledException;
+import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.events.ProgressEvent;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.gradle.archive.importer.embedded.BuildReport;
 import org.jboss.shrinkwrap.api.gradle.archive.importer.embedded.EmbeddedGradleImporter;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author <a href="mailto:mmatloka@gmail.com">Michal Matloka</a>
  */
 class JarEmbeddedGradleImporterTestCase {
 
+    @TempDir
+    Path tmpFolder;
+
     @Test
     void shouldImportFromDefaultLocation() {
         final String dir = "src/it/jar-sample/";
@@ -56,4 +74,81 @@ class JarEmbeddedGradleImporterTestCase {
         AssertArchive.assertNotContains(javaArchive, "file.toExclude");
         assertThat(javaArchive.getContent().size()).isEqualTo(7);
     }
+
+    @Test
+    void shouldReuseUpToDateBuildOutput() {
+        final String dir = "src/it/jar-sample/";
+        final List<BuildReport> reports = new ArrayList<>();
+        final List<ProgressEvent> events = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            // the second build is up to date, so the third one is not launched at all
+            events.clear();
+            final JavaArchive javaArchive = ShrinkWrap.create(EmbeddedGradleImporter.class).forProjectDirectory(dir)
+                .addProgressListener(events::add).withBuildReport(reports::add).importBuildOutput()
+                .as(JavaArchive.class);
+
+            AssertArchive.assertContains(javaArchive, "main.properties");
+            assertThat(javaArchive.getContent().size()).isEqualTo(7);
+        }
+        assertThat(reports).hasSize(3);
+        assertThat(reports.get(2).isSkipped()).isTrue();
+        assertThat(reports.get(2).getTasks()).isEmpty();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void shouldReportProgressAndTaskOutcomes() {
+        final String dir = "src/it/jar-sample/";
+        final List<ProgressEvent> events = new CopyOnWriteArrayList<>();
+        final List<BuildReport> reports = new ArrayList<>();
+        final JavaArchive javaArchive = ShrinkWrap.create(EmbeddedGradleImporter.class).forProjectDirectory(dir)
+            .forTasks("clean", "jar").addProgressListener(events::add).withBuildReport(reports::add)
+            .importBuildOutput().as(JavaArchive.class);
+
+        AssertArchive.assertContains(javaArchive, "main.properties");
+        assertThat(events).isNotEmpty();
+        assertThat(reports).hasSize(1);
+        final BuildReport report = reports.get(0);
+        assertThat(report.isSkipped()).isFalse();
+        assertThat(report.isCancelled()).isFalse();
+        assertThat(report.getDuration()).isPositive();
+        final BuildReport.TaskExecution jar = report.getTasks().stream()
+            .filter(task -> task.getPath().equals(":jar")).findFirst().orElse(null);
+        assertThat(jar).isNotNull();
+        assertThat(jar.getOutcome()).isEqualTo(BuildReport.TaskOutcome.EXECUTED);
+        assertThat(jar.getDuration()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void shouldNotLaunchCancelledBuild() {
+        final String dir = "src/it/jar-sample/";
+        final CancellationTokenSource cancellationTokenSource = GradleConnector.newCancellationTokenSource();
+        cancellationTokenSource.cancel();
+        final List<BuildReport> reports = new ArrayList<>();
+
+        assertThatThrownBy(() -> ShrinkWrap.create(EmbeddedGradleImporter.class).forProjectDirectory(dir)
+            .forTasks("clean", "jar").withCancellationToken(cancellationTokenSource.token())
+            .withBuildReport(reports::add).importBuildOutput())
+            .isInstanceOf(BuildCancelledException.class);
+        assertThat(reports).hasSize(1);
+        assertThat(reports.get(0).isCancelled()).isTrue();
+        assertThat(reports.get(0).getTasks()).isEmpty();
+    }
+
+    @Test
+    void shouldCancelBuildAfterTimeout() throws IOException {
+        final String dir = "src/it/jar-sample/";
+        final Path initScript = Files.write(tmpFolder.resolve("sleep.gradle"),
+            "allprojects { tasks.register('sleep') { doLast { Thread.sleep(60000) } } }".getBytes(StandardCharsets.UTF_8));
+        final List<BuildReport> reports = new ArrayList<>();
+
+        assertThatThrownBy(() -> ShrinkWrap.create(EmbeddedGradleImporter.class).forProjectDirectory(dir)
+            .forTasks("sleep").withArguments("--init-script", initScript.toString())
+            .withTimeout(500, TimeUnit.MILLISECONDS).withBuildReport(reports::add).importBuildOutput())
+            .isInstanceOf(IllegalStateException.class)
+            .hasCauseInstanceOf(BuildCancelledException.class);
+        assertThat(reports).hasSize(1);
+        assertThat(reports.get(0).isCancelled()).isTrue();
+        assertThat(reports.get(0).getDuration()).isLessThan(60000);
+    }
 }
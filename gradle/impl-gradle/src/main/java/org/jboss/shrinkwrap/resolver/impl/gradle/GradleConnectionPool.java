@@ -0,0 +1,181 @@
+package org.jboss.shrinkwrap.resolver.impl.gradle;
+
+import org.gradle.tooling.BuildActionFailureException;
+import org.gradle.tooling.BuildCancelledException;
+import org.gradle.tooling.BuildException;
+import org.gradle.tooling.GradleConnectionException;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ListenerFailedException;
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.TestExecutionException;
+import org.gradle.tooling.UnsupportedVersionException;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JVM-wide pool of Gradle Tooling API connections. The connections are kept open and reused by all resolutions of the
+ * same project, so only the first one pays for the daemon handshake. Connections are thread-safe, so a single
+ * connection per project directory, Gradle distribution and Gradle user home is shared. All pooled connections are
+ * closed when the JVM shuts down.
+ */
+public class GradleConnectionPool {
+   private static final Logger log = Logger.getLogger(GradleConnectionPool.class.getName());
+
+   private static final Map<Key, ProjectConnection> CONNECTIONS = new ConcurrentHashMap<>();
+
+   static {
+      Runtime.getRuntime().addShutdownHook(
+            new Thread(GradleConnectionPool::closeAll, "gradle-connection-pool-shutdown"));
+   }
+
+   private GradleConnectionPool() {
+   }
+
+   /**
+    * Runs the given action with a pooled connection to the project. A connection whose action has failed is removed
+    * from the pool and closed, so a broken daemon is not reused. Failed, cancelled or unsupported builds leave the
+    * connection usable, so it is kept and builds running on it concurrently are not affected.
+    * @param projectDirectory Directory of the Gradle project.
+    * @param gradleVersion Gradle version to use, or {@code null} to use the one of the project.
+    * @param gradleUserHome Gradle user home directory, or {@code null} to use the default one.
+    * @param action Action to run.
+    * @param <T> Type of the result.
+    * @return Result of the action.
+    */
+   public static <T> T withConnection(final File projectDirectory, final String gradleVersion,
+         final File gradleUserHome, final Function<ProjectConnection, T> action) {
+      return withConnection(projectDirectory, gradleVersion, null, null, gradleUserHome, action);
+   }
+
+   /**
+    * Runs the given action with a pooled connection to the project using the given Gradle distribution. At most one of
+    * the version, distribution and installation is expected to be set.
+    * @param projectDirectory Directory of the Gradle project.
+    * @param gradleVersion Gradle version to use, or {@code null}.
+    * @param gradleDistribution Gradle distribution to use, or {@code null}.
+    * @param gradleInstallation Gradle installation to use, or {@code null}.
+    * @param gradleUserHome Gradle user home directory, or {@code null} to use the default one.
+    * @param action Action to run.
+    * @param <T> Type of the result.
+    * @return Result of the action.
+    */
+   public static <T> T withConnection(final File projectDirectory, final String gradleVersion,
+         final URI gradleDistribution, final File gradleInstallation, final File gradleUserHome,
+         final Function<ProjectConnection, T> action) {
+      final Key key = new Key(canonical(projectDirectory), gradleVersion, gradleDistribution,
+            canonical(gradleInstallation), canonical(gradleUserHome));
+      final ProjectConnection connection = CONNECTIONS.computeIfAbsent(key, GradleConnectionPool::connect);
+      try {
+         return action.apply(connection);
+      } catch (GradleConnectionException e) {
+         if (isConnectionFailure(e) && CONNECTIONS.remove(key, connection)) {
+            close(connection);
+         }
+         throw e;
+      }
+   }
+
+   /**
+    * Closes all pooled connections.
+    */
+   public static void closeAll() {
+      for (Key key : CONNECTIONS.keySet()) {
+         final ProjectConnection connection = CONNECTIONS.remove(key);
+         if (connection != null) {
+            close(connection);
+         }
+      }
+   }
+
+   static int size() {
+      return CONNECTIONS.size();
+   }
+
+   private static ProjectConnection connect(final Key key) {
+      final GradleConnector connector = GradleConnector.newConnector().forProjectDirectory(key.projectDirectory);
+      if (key.gradleVersion != null) {
+         connector.useGradleVersion(key.gradleVersion);
+      }
+      if (key.gradleDistribution != null) {
+         connector.useDistribution(key.gradleDistribution);
+      }
+      if (key.gradleInstallation != null) {
+         connector.useInstallation(key.gradleInstallation);
+      }
+      if (key.gradleUserHome != null) {
+         connector.useGradleUserHomeDir(key.gradleUserHome);
+      }
+      return connector.connect();
+   }
+
+   private static boolean isConnectionFailure(final GradleConnectionException e) {
+      return !(e instanceof BuildException || e instanceof BuildCancelledException
+            || e instanceof TestExecutionException || e instanceof BuildActionFailureException
+            || e instanceof ListenerFailedException || e instanceof UnsupportedVersionException);
+   }
+
+   private static void close(final ProjectConnection connection) {
+      try {
+         connection.close();
+      } catch (RuntimeException e) {
+         log.log(Level.FINE, "Cannot close Gradle connection", e);
+      }
+   }
+
+   private static File canonical(final File file) {
+      if (file == null) {
+         return null;
+      }
+      try {
+         return file.getCanonicalFile();
+      } catch (IOException e) {
+         return file.getAbsoluteFile();
+      }
+   }
+
+   private static final class Key {
+      private final File projectDirectory;
+      private final String gradleVersion;
+      private final URI gradleDistribution;
+      private final File gradleInstallation;
+      private final File gradleUserHome;
+
+      private Key(final File projectDirectory, final String gradleVersion, final URI gradleDistribution,
+            final File gradleInstallation, final File gradleUserHome) {
+         this.projectDirectory = projectDirectory;
+         this.gradleVersion = gradleVersion;
+         this.gradleDistribution = gradleDistribution;
+         this.gradleInstallation = gradleInstallation;
+         this.gradleUserHome = gradleUserHome;
+      }
+
+      @Override
+      public boolean equals(final Object o) {
+         if (this == o) {
+            return true;
+         }
+         if (!(o instanceof Key)) {
+            return false;
+         }
+         final Key key = (Key) o;
+         return projectDirectory.equals(key.projectDirectory) && Objects.equals(gradleVersion, key.gradleVersion)
+               && Objects.equals(gradleDistribution, key.gradleDistribution)
+               && Objects.equals(gradleInstallation, key.gradleInstallation)
+               && Objects.equals(gradleUserHome, key.gradleUserHome);
+      }
+
+      @Override
+      public int hashCode() {
+         return Objects.hash(projectDirectory, gradleVersion, gradleDistribution, gradleInstallation, gradleUserHome);
+      }
+   }
+
+}
@@ -0,0 +1,210 @@
+package org.jboss.shrinkwrap.resolver.impl.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+/**
+ * Persistent cache of the effective dependencies of a Gradle project. The dependencies are identified by a fingerprint
+ * of the requested scopes and modules and of the content of the files defining the build: settings and build scripts,
+ * {@code gradle.properties}, version catalogs, lock files and the wrapper properties. The files are searched for in the
+ * whole build, starting from the nearest directory containing a settings script, except for build directories and
+ * hidden files.
+ * <p>
+ * The dependencies are stored in the build directory of the project, so they are valid until the project is cleaned.
+ * A stored result is not used if any of its dependency files is missing. Dynamic and changing versions are not
+ * covered by the fingerprint.
+ * </p>
+ */
+class GradleDependencyCache {
+   private static final Logger log = Logger.getLogger(GradleDependencyCache.class.getName());
+
+   private static final String BUILD_DIR = "build";
+   private static final String CACHE_FILE = "shrinkwrap-resolver-dependencies.properties";
+   private static final String FINGERPRINT_KEY = "fingerprint";
+   private static final String SCOPE_KEY_PREFIX = "scope.";
+   private static final String MODULE_KEY_PREFIX = "module.";
+
+   private final Path projectDir;
+   private final Path cacheFile;
+
+   GradleDependencyCache(final String projectDirectory) {
+      this.projectDir = new File(projectDirectory).getAbsoluteFile().toPath();
+      this.cacheFile = projectDir.resolve(BUILD_DIR).resolve(CACHE_FILE);
+   }
+
+   /**
+    * Returns the fingerprint of the build for the given scopes and modules, or {@code null} if the build files couldn't
+    * be read.
+    */
+   String fingerprint(final Set<ScopeType> scopeTypes, final Set<String> modules) {
+      try {
+         final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+         digest.update(new TreeSet<>(scopeTypes).toString().getBytes(StandardCharsets.UTF_8));
+         digest.update(new TreeSet<>(modules).toString().getBytes(StandardCharsets.UTF_8));
+         final Path buildRoot = findBuildRoot();
+         for (Path file : collectBuildFiles(buildRoot)) {
+            digest.update(buildRoot.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Files.readAllBytes(file));
+            digest.update((byte) 0);
+         }
+         final StringBuilder fingerprint = new StringBuilder();
+         for (byte b : digest.digest()) {
+            fingerprint.append(String.format("%02x", b));
+         }
+         return fingerprint.toString();
+      } catch (IOException | NoSuchAlgorithmException e) {
+         log.warning("Cannot compute the fingerprint of Gradle build " + projectDir + ": " + e.getMessage());
+         return null;
+      }
+   }
+
+   /**
+    * Returns the stored dependencies with the given fingerprint, or {@code null} if there are none or if any of the
+    * dependency files doesn't exist anymore.
+    */
+   GradleEffectiveDependencies load(final String fingerprint) {
+      if (!Files.isRegularFile(cacheFile)) {
+         return null;
+      }
+      final Properties properties = new Properties();
+      try (InputStream inputStream = Files.newInputStream(cacheFile)) {
+         properties.load(inputStream);
+      } catch (IOException e) {
+         log.warning("Cannot read Gradle dependency cache " + cacheFile + ": " + e.getMessage());
+         return null;
+      }
+      if (!fingerprint.equals(properties.getProperty(FINGERPRINT_KEY))) {
+         return null;
+      }
+      final GradleEffectiveDependencies gradleEffectiveDependencies = new GradleEffectiveDependencies();
+      // the whole build first, so the dependencies keep their order
+      for (ScopeType scopeType : ScopeType.values()) {
+         for (File file : toFiles(properties.getProperty(SCOPE_KEY_PREFIX + scopeType.name()))) {
+            if (!file.exists()) {
+               return null;
+            }
+            gradleEffectiveDependencies.addDependency(scopeType, file);
+         }
+      }
+      for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+         if (key.startsWith(MODULE_KEY_PREFIX)) {
+            // module.<module>.<scope>, where the module path may contain dots
+            final int scopeSeparator = key.lastIndexOf('.');
+            final String module = key.substring(MODULE_KEY_PREFIX.length(), scopeSeparator);
+            final ScopeType scopeType = ScopeType.valueOf(key.substring(scopeSeparator + 1));
+            for (File file : toFiles(properties.getProperty(key))) {
+               gradleEffectiveDependencies.addDependency(module, scopeType, file);
+            }
+         }
+      }
+      return gradleEffectiveDependencies;
+   }
+
+   void store(final String fingerprint, final GradleEffectiveDependencies gradleEffectiveDependencies) {
+      final Properties properties = new Properties();
+      properties.setProperty(FINGERPRINT_KEY, fingerprint);
+      for (ScopeType scopeType : ScopeType.values()) {
+         properties.setProperty(SCOPE_KEY_PREFIX + scopeType.name(),
+               toString(gradleEffectiveDependencies.getDependenciesByScope(scopeType)));
+         for (String module : gradleEffectiveDependencies.getModules()) {
+            final List<File> dependencies = gradleEffectiveDependencies.getDependenciesByScope(module, scopeType);
+            if (!dependencies.isEmpty()) {
+               properties.setProperty(MODULE_KEY_PREFIX + module + "." + scopeType.name(), toString(dependencies));
+            }
+         }
+      }
+      try {
+         Files.createDirectories(cacheFile.getParent());
+         // written aside and moved, so concurrent resolutions never read a partial file
+         final Path tmpFile = Files.createTempFile(cacheFile.getParent(), CACHE_FILE, ".tmp");
+         try (OutputStream outputStream = Files.newOutputStream(tmpFile)) {
+            properties.store(outputStream, "ShrinkWrap Resolver Gradle dependency cache");
+         }
+         Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+         log.warning("Cannot write Gradle dependency cache " + cacheFile + ": " + e.getMessage());
+      }
+   }
+
+   private static String toString(final List<File> files) {
+      final StringBuilder dependencies = new StringBuilder();
+      for (File file : files) {
+         if (dependencies.length() > 0) {
+            dependencies.append(File.pathSeparator);
+         }
+         dependencies.append(file.getAbsolutePath());
+      }
+      return dependencies.toString();
+   }
+
+   private static List<File> toFiles(final String dependencies) {
+      final List<File> files = new ArrayList<>();
+      if (dependencies != null && !dependencies.isEmpty()) {
+         for (String dependency : dependencies.split(File.pathSeparator)) {
+            files.add(new File(dependency));
+         }
+      }
+      return files;
+   }
+
+   private Path findBuildRoot() {
+      for (Path dir = projectDir; dir != null; dir = dir.getParent()) {
+         if (Files.isRegularFile(dir.resolve("settings.gradle")) || Files.isRegularFile(dir.resolve("settings.gradle.kts"))) {
+            return dir;
+         }
+      }
+      return projectDir;
+   }
+
+   private static List<Path> collectBuildFiles(final Path buildRoot) throws IOException {
+      final List<Path> files = new ArrayList<>();
+      Files.walkFileTree(buildRoot, new SimpleFileVisitor<Path>() {
+         @Override
+         public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (!dir.equals(buildRoot)) {
+               final String name = dir.getFileName().toString();
+               if (name.startsWith(".") || BUILD_DIR.equals(name)) {
+                  return FileVisitResult.SKIP_SUBTREE;
+               }
+            }
+            return FileVisitResult.CONTINUE;
+         }
+
+         @Override
+         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (isBuildFile(file.getFileName().toString())) {
+               files.add(file);
+            }
+            return FileVisitResult.CONTINUE;
+         }
+      });
+      files.sort(null);
+      return files;
+   }
+
+   private static boolean isBuildFile(final String name) {
+      return name.equals("settings.gradle") || name.equals("settings.gradle.kts")
+            || name.endsWith(".gradle") || name.endsWith(".gradle.kts")
+            || name.equals("gradle.properties") || name.equals("gradle-wrapper.properties")
+            || name.endsWith(".versions.toml") || name.endsWith(".lockfile");
+   }
+
+}
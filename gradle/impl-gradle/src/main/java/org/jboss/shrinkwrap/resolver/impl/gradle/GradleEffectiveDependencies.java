@@ -5,40 +5,93 @@ import org.gradle.tooling.model.idea.IdeaSingleEntryLibraryDependency;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
- * Class that groups dependencies by scope.
+ * Class that groups dependencies by scope, both for the whole build and for each module. A dependency shared by
+ * several modules is kept only once per scope, and all modules refer to the same {@link File} instance.
  */
 public class GradleEffectiveDependencies {
 
-   private final Map<ScopeType, List<File>> effectiveModelGroupedByScope = new HashMap<>();
+   private final Map<File, File> files = new HashMap<>();
+   private final Map<ScopeType, Set<File>> effectiveModelGroupedByScope = new EnumMap<>(ScopeType.class);
+   private final Map<String, Map<ScopeType, Set<File>>> effectiveModelGroupedByModule = new LinkedHashMap<>();
 
    public void addDependency(IdeaSingleEntryLibraryDependency ideaSingleEntryLibraryDependency) {
       addDependenciesByScope(ideaSingleEntryLibraryDependency);
    }
 
+   public void addDependency(final ScopeType scopeType, final File dependency) {
+      addDependencyByScope(effectiveModelGroupedByScope, scopeType, intern(dependency));
+   }
+
+   /**
+    * Adds a dependency of a module.
+    * @param module Gradle path of the module, e.g. {@code :core}.
+    * @param scopeType Scope of the dependency.
+    * @param dependency Dependency file.
+    */
+   public void addDependency(final String module, final ScopeType scopeType, final File dependency) {
+      final File file = intern(dependency);
+      addDependencyByScope(effectiveModelGroupedByScope, scopeType, file);
+      addDependencyByScope(effectiveModelGroupedByModule.computeIfAbsent(module, m -> new EnumMap<>(ScopeType.class)),
+            scopeType, file);
+   }
+
    public List<File> getDependenciesByScope(final ScopeType scopeType) {
-      if (effectiveModelGroupedByScope.containsKey(scopeType)) {
-         return Collections.unmodifiableList(effectiveModelGroupedByScope.get(scopeType));
-      } else {
-         return Collections.unmodifiableList(new ArrayList<>());
+      return getDependenciesByScope(effectiveModelGroupedByScope, scopeType);
+   }
+
+   /**
+    * Gets Gradle paths of the modules with dependencies.
+    * @return Gradle paths of the modules.
+    */
+   public Set<String> getModules() {
+      return Collections.unmodifiableSet(effectiveModelGroupedByModule.keySet());
+   }
+
+   /**
+    * Gets dependencies of given scope of a single module.
+    * @param module Gradle path of the module, e.g. {@code :core}.
+    * @param scopeType Scope of the dependencies.
+    * @return Dependencies of the module.
+    */
+   public List<File> getDependenciesByScope(final String module, final ScopeType scopeType) {
+      final Map<ScopeType, Set<File>> moduleDependencies = effectiveModelGroupedByModule.get(module);
+      if (moduleDependencies == null) {
+         return Collections.emptyList();
       }
+      return getDependenciesByScope(moduleDependencies, scopeType);
    }
 
    private void addDependenciesByScope(final IdeaSingleEntryLibraryDependency ideaSingleEntryLibraryDependency) {
-      final List<File> dependenciesByScope;
       final ScopeType scopeType = ScopeType.valueOf(ideaSingleEntryLibraryDependency.getScope().getScope());
-      if (effectiveModelGroupedByScope.containsKey(scopeType)) {
-         dependenciesByScope = effectiveModelGroupedByScope.get(scopeType);
-      } else {
-         dependenciesByScope = new ArrayList<>();
-      }
+      addDependency(scopeType, ideaSingleEntryLibraryDependency.getFile());
+   }
+
+   private File intern(final File dependency) {
+      final File file = files.putIfAbsent(dependency, dependency);
+      return file != null ? file : dependency;
+   }
 
-      dependenciesByScope.add(ideaSingleEntryLibraryDependency.getFile());
-      effectiveModelGroupedByScope.put(scopeType, dependenciesByScope);
+   private static void addDependencyByScope(final Map<ScopeType, Set<File>> dependencies, final ScopeType scopeType,
+         final File dependency) {
+      dependencies.computeIfAbsent(scopeType, s -> new LinkedHashSet<>()).add(dependency);
+   }
+
+   private static List<File> getDependenciesByScope(final Map<ScopeType, Set<File>> dependencies,
+         final ScopeType scopeType) {
+      final Set<File> dependenciesByScope = dependencies.get(scopeType);
+      if (dependenciesByScope == null) {
+         return Collections.emptyList();
+      }
+      return Collections.unmodifiableList(new ArrayList<>(dependenciesByScope));
    }
 
 }
@@ -0,0 +1,35 @@
+package org.jboss.shrinkwrap.resolver.impl.gradle;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Tooling API model with the resolved dependencies of a Gradle project and its subprojects. The model is built by
+ * the init script injected by {@link GradleRunner}, which resolves only the configurations needed for the requested
+ * scopes.
+ */
+public interface GradleResolvedDependencies {
+
+   List<? extends Dependency> getDependencies();
+
+   /**
+    * Single resolved dependency of the project with given Gradle path. Group, name and version are {@code null} for
+    * file dependencies.
+    */
+   interface Dependency {
+
+      String getProject();
+
+      String getScope();
+
+      String getGroup();
+
+      String getName();
+
+      String getVersion();
+
+      File getFile();
+
+   }
+
+}
@@ -1,51 +1,130 @@
 package org.jboss.shrinkwrap.resolver.impl.gradle;
 
-import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ProjectConnection;
-import org.gradle.tooling.model.DomainObjectSet;
-import org.gradle.tooling.model.idea.IdeaDependency;
-import org.gradle.tooling.model.idea.IdeaModule;
-import org.gradle.tooling.model.idea.IdeaProject;
-import org.gradle.tooling.model.idea.IdeaSingleEntryLibraryDependency;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
 
 /**
- * Gradle runner to get dependencies.
+ * Gradle runner to get dependencies. The connections to the projects are taken from {@link GradleConnectionPool}.
+ * The dependencies are fetched as {@link GradleResolvedDependencies} model, built by an injected init script which
+ * resolves only the configurations needed for the requested scopes.
  */
 public class GradleRunner {
 
+   private static final String INIT_SCRIPT = "resolved-dependencies.gradle";
+   private static final String SCOPES_PROPERTY = "org.jboss.shrinkwrap.resolver.gradle.scopes";
+   private static final String PROJECTS_PROPERTY = "org.jboss.shrinkwrap.resolver.gradle.projects";
+
+   private static File initScript;
+
    public static GradleEffectiveDependencies getEffectiveDependencies(final String projectDirectory) {
+      return getEffectiveDependencies(projectDirectory, EnumSet.allOf(ScopeType.class));
+   }
 
-      final GradleEffectiveDependencies gradleEffectiveDependencies = new GradleEffectiveDependencies();
-      final GradleConnector connector = GradleConnector.newConnector();
-      connector.forProjectDirectory(new File(projectDirectory));
-      ProjectConnection connection = null;
+   public static GradleEffectiveDependencies getEffectiveDependencies(final String projectDirectory,
+         final Set<ScopeType> scopeTypes) {
+      return getEffectiveDependencies(projectDirectory, scopeTypes, Collections.<String>emptySet());
+   }
 
-      try {
-         connection = connector.connect();
-         final IdeaProject project = connection.getModel(IdeaProject.class);
+   /**
+    * Gets the dependencies of the given scopes of the given modules.
+    * @param projectDirectory Directory of the Gradle project.
+    * @param scopeTypes Scopes to resolve.
+    * @param modules Gradle paths of the modules to resolve, or an empty set to resolve the project and all its modules.
+    * @return Dependencies grouped by scope and by module.
+    */
+   public static GradleEffectiveDependencies getEffectiveDependencies(final String projectDirectory,
+         final Set<ScopeType> scopeTypes, final Set<String> modules) {
+      if (scopeTypes.isEmpty()) {
+         return new GradleEffectiveDependencies();
+      }
+      return GradleConnectionPool.withConnection(new File(projectDirectory), null, null,
+            connection -> collectEffectiveDependencies(connection, scopeTypes, modules));
+   }
 
-         final DomainObjectSet<? extends IdeaModule> modules = project.getChildren();
+   /**
+    * Gets the dependencies of the given scopes. If the dependency cache is used, the dependencies stored by the previous
+    * resolution of the same build are returned without contacting Gradle at all.
+    * @param projectDirectory Directory of the Gradle project.
+    * @param scopeTypes Scopes to resolve.
+    * @param modules Gradle paths of the modules to resolve, or an empty set to resolve the project and all its modules.
+    * @param useDependencyCache Whether to use the dependencies stored in the build directory of the project.
+    * @return Dependencies grouped by scope and by module.
+    */
+   public static GradleEffectiveDependencies getEffectiveDependencies(final String projectDirectory,
+         final Set<ScopeType> scopeTypes, final Set<String> modules, final boolean useDependencyCache) {
+      if (!useDependencyCache) {
+         return getEffectiveDependencies(projectDirectory, scopeTypes, modules);
+      }
+      final GradleDependencyCache dependencyCache = new GradleDependencyCache(projectDirectory);
+      final String fingerprint = dependencyCache.fingerprint(scopeTypes, modules);
+      if (fingerprint != null) {
+         final GradleEffectiveDependencies cached = dependencyCache.load(fingerprint);
+         if (cached != null) {
+            return cached;
+         }
+      }
+      final GradleEffectiveDependencies gradleEffectiveDependencies =
+            getEffectiveDependencies(projectDirectory, scopeTypes, modules);
+      if (fingerprint != null) {
+         dependencyCache.store(fingerprint, gradleEffectiveDependencies);
+      }
+      return gradleEffectiveDependencies;
+   }
 
-         for (IdeaModule ideaModule: modules) {
-            final DomainObjectSet<? extends IdeaDependency> dependencies = ideaModule.getDependencies();
+   private static GradleEffectiveDependencies collectEffectiveDependencies(final ProjectConnection connection,
+         final Set<ScopeType> scopeTypes, final Set<String> modules) {
 
-            for (IdeaDependency ideaDependency : dependencies) {
-               if (ideaDependency instanceof IdeaSingleEntryLibraryDependency) {
-                  gradleEffectiveDependencies.addDependency((IdeaSingleEntryLibraryDependency) ideaDependency);
-               }
-            }
+      final GradleEffectiveDependencies gradleEffectiveDependencies = new GradleEffectiveDependencies();
+      final StringJoiner scopes = new StringJoiner(",");
+      for (ScopeType scopeType : scopeTypes) {
+         scopes.add(scopeType.name());
+      }
+      final List<String> arguments = new ArrayList<>();
+      arguments.add("--init-script");
+      arguments.add(getInitScript().getAbsolutePath());
+      arguments.add("-P" + SCOPES_PROPERTY + "=" + scopes);
+      if (!modules.isEmpty()) {
+         arguments.add("-P" + PROJECTS_PROPERTY + "=" + String.join(",", modules));
+      }
 
-         }
+      final GradleResolvedDependencies resolvedDependencies = connection.model(GradleResolvedDependencies.class)
+            .withArguments(arguments)
+            .get();
 
-      } finally {
-         if(connection != null) {
-            connection.close();
-         }
+      for (GradleResolvedDependencies.Dependency dependency : resolvedDependencies.getDependencies()) {
+         gradleEffectiveDependencies.addDependency(dependency.getProject(), ScopeType.valueOf(dependency.getScope()),
+               dependency.getFile());
       }
 
       return gradleEffectiveDependencies;
    }
 
+   private static synchronized File getInitScript() {
+      if (initScript == null || !initScript.isFile()) {
+         try (InputStream script = GradleRunner.class.getResourceAsStream(INIT_SCRIPT)) {
+            if (script == null) {
+               throw new IllegalStateException("Gradle init script " + INIT_SCRIPT + " has not been found");
+            }
+            final File file = File.createTempFile("shrinkwrap-resolver-", ".gradle");
+            file.deleteOnExit();
+            Files.copy(script, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            initScript = file;
+         } catch (IOException e) {
+            throw new IllegalStateException("Cannot create Gradle init script " + INIT_SCRIPT, e);
+         }
+      }
+      return initScript;
+   }
+
 }
@@ -1,15 +1,17 @@
 package org.jboss.shrinkwrap.resolver.impl.gradle;
 
 import org.jboss.shrinkwrap.api.Archive;
-import org.jboss.shrinkwrap.api.ShrinkWrap;
-import org.jboss.shrinkwrap.api.importer.ZipImporter;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.ZipFile;
 
 /**
  * Class that resolves all dependencies of given scope to ShrinkWrap archive.
@@ -19,10 +21,20 @@ public class GradleStrategyStage {
 
    private final String projectDirectory;
    private final Set<ScopeType> scopeTypesDependencies;
+   private final Set<String> modules;
+   private final boolean useDependencyCache;
+   private List<File> dependencyFiles;
 
    public GradleStrategyStage(final String projectDirectory, final Set<ScopeType> scopeTypesDependencies) {
+      this(projectDirectory, scopeTypesDependencies, Collections.<String>emptySet(), false);
+   }
+
+   public GradleStrategyStage(final String projectDirectory, final Set<ScopeType> scopeTypesDependencies,
+         final Set<String> modules, final boolean useDependencyCache) {
       this.projectDirectory = projectDirectory;
       this.scopeTypesDependencies = scopeTypesDependencies;
+      this.modules = modules;
+      this.useDependencyCache = useDependencyCache;
    }
 
    /**
@@ -36,27 +48,59 @@ public class GradleStrategyStage {
    }
 
    /**
-    * Gets all dependencies (and the transitive ones too) as given ShrinkWrap Archive type.
+    * Gets all dependencies (and the transitive ones too) as given ShrinkWrap Archive type. The archives are backed by
+    * the dependency files and imported only when they are used for anything else than getting their name.
     * @param archive ShrinkWrap archive.
     * @return List of dependencies and transitive ones for configured state.
     */
    public List<? extends Archive<?>> asList(final Class<? extends Archive<?>> archive) {
 
       final List<Archive<?>> archives = new ArrayList<>();
-      final GradleEffectiveDependencies gradleEffectiveDependencies = GradleRunner.getEffectiveDependencies(projectDirectory);
-
-      for (ScopeType scopeType : scopeTypesDependencies) {
-         final List<File> dependenciesByScope = gradleEffectiveDependencies.getDependenciesByScope(scopeType);
-         for (File dependency : dependenciesByScope) {
-            try {
-               final Archive<?> dep = ShrinkWrap.create(ZipImporter.class, dependency.getName()).importFrom(dependency).as(archive);
-               archives.add(dep);
-            } catch (Exception e) {
-               log.log(Level.WARNING, "Cannot import gradle dependency " + dependency + ". Not a zip-like format", e);
-            }
+
+      for (File dependency : getDependencyFiles()) {
+         // opening reads only the central directory, the entries are imported on first use
+         try (ZipFile zipFile = new ZipFile(dependency)) {
+            archives.add(LazyArchive.create(dependency, archive));
+         } catch (Exception e) {
+            log.log(Level.WARNING, "Cannot import gradle dependency " + dependency + ". Not a zip-like format", e);
          }
       }
       return archives;
    }
 
+   /**
+    * Gets all dependencies (and the transitive ones too) as files, without importing them.
+    * @return Array of dependency files for configured state.
+    */
+   public File[] asFile() {
+      final List<File> files = getDependencyFiles();
+      return files.toArray(new File[files.size()]);
+   }
+
+   /**
+    * Gets all dependencies (and the transitive ones too) as paths, without importing them.
+    * @return Array of dependency paths for configured state.
+    */
+   public Path[] asPath() {
+      final List<File> files = getDependencyFiles();
+      final Path[] paths = new Path[files.size()];
+      for (int i = 0; i < paths.length; i++) {
+         paths[i] = files.get(i).toPath();
+      }
+      return paths;
+   }
+
+   private synchronized List<File> getDependencyFiles() {
+      if (dependencyFiles == null) {
+         final GradleEffectiveDependencies gradleEffectiveDependencies = GradleRunner.getEffectiveDependencies(projectDirectory, scopeTypesDependencies, modules, useDependencyCache);
+         // a library may be e.g. a compile dependency of one module and a runtime dependency of another one
+         final Set<File> files = new LinkedHashSet<>();
+         for (ScopeType scopeType : scopeTypesDependencies) {
+            files.addAll(gradleEffectiveDependencies.getDependenciesByScope(scopeType));
+         }
+         dependencyFiles = new ArrayList<>(files);
+      }
+      return dependencyFiles;
+   }
+
 }
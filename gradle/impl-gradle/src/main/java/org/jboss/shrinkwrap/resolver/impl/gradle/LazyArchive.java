@@ -0,0 +1,68 @@
+package org.jboss.shrinkwrap.resolver.impl.gradle;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Archive handle backed by a dependency file on disk. The file is imported only when the archive is used for anything
+ * else than getting its name, so callers that just collect the archives don't pay for importing them.
+ */
+class LazyArchive implements InvocationHandler {
+
+   private final File file;
+   private final Class<? extends Archive<?>> type;
+   private Archive<?> archive;
+
+   private LazyArchive(final File file, final Class<? extends Archive<?>> type) {
+      this.file = file;
+      this.type = type;
+   }
+
+   /**
+    * Creates a handle of given type for the file. The archive is imported right away if the type is not an interface.
+    * @param file Dependency file.
+    * @param type ShrinkWrap archive type.
+    * @return Archive of given type.
+    */
+   static Archive<?> create(final File file, final Class<? extends Archive<?>> type) {
+      final LazyArchive lazyArchive = new LazyArchive(file, type);
+      if (!type.isInterface()) {
+         return lazyArchive.getArchive();
+      }
+      return (Archive<?>) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, lazyArchive);
+   }
+
+   @Override
+   public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      final String name = method.getName();
+      if ("getName".equals(name) && method.getParameterCount() == 0) {
+         return file.getName();
+      }
+      if ("hashCode".equals(name) && method.getParameterCount() == 0) {
+         return System.identityHashCode(proxy);
+      }
+      if ("equals".equals(name) && method.getParameterCount() == 1) {
+         return proxy == args[0];
+      }
+      try {
+         return method.invoke(getArchive(), args);
+      } catch (InvocationTargetException e) {
+         throw e.getCause();
+      }
+   }
+
+   private synchronized Archive<?> getArchive() {
+      if (archive == null) {
+         archive = ShrinkWrap.create(ZipImporter.class, file.getName()).importFrom(file).as(type);
+      }
+      return archive;
+   }
+
+}
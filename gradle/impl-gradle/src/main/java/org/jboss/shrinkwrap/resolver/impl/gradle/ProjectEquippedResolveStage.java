@@ -2,6 +2,7 @@ package org.jboss.shrinkwrap.resolver.impl.gradle;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -12,6 +13,8 @@ public class ProjectEquippedResolveStage {
 
    private final String projectDirectory;
    private final Set<ScopeType> scopeTypeSet = new HashSet<>();
+   private final Set<String> modules = new LinkedHashSet<>();
+   private boolean useDependencyCache;
 
    public ProjectEquippedResolveStage(final String projectDirectory) {
       this.projectDirectory = projectDirectory;
@@ -60,12 +63,34 @@ public class ProjectEquippedResolveStage {
       return importDependencies(ScopeType.COMPILE, ScopeType.RUNTIME);
    }
 
+   /**
+    * Import dependencies only of given modules instead of the project and all its modules.
+    * @param modulePaths Gradle paths of the modules, e.g. {@code :core}.
+    * @return this instance.
+    */
+   public ProjectEquippedResolveStage forModules(final String... modulePaths) {
+      modules.addAll(Arrays.asList(modulePaths));
+
+      return this;
+   }
+
+   /**
+    * Reuse the dependencies stored by the previous resolution as long as the build scripts, properties, version
+    * catalogs and lock files of the build are unchanged. Gradle is not contacted at all in that case.
+    * @return this instance.
+    */
+   public ProjectEquippedResolveStage useDependencyCache() {
+      this.useDependencyCache = true;
+
+      return this;
+   }
+
    /**
     * Method termination to resolve all dependencies of configured scopes.
     * @return Class to get results.
     */
    public GradleStrategyStage resolve() {
-      return new GradleStrategyStage(projectDirectory, scopeTypeSet);
+      return new GradleStrategyStage(projectDirectory, scopeTypeSet, modules, useDependencyCache);
    }
 
 
@@ -0,0 +1,49 @@
+package org.jboss.shrinkwrap.resolver.impl.gradle;
+
+import org.gradle.tooling.BuildException;
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.model.GradleProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GradleConnectionPoolTestCase {
+
+   @TempDir
+   Path tmpFolder;
+
+   @Test
+   void failed_build_keeps_pooled_connection() throws IOException {
+      write(tmpFolder.resolve("settings.gradle"), "rootProject.name = 'failing'");
+      write(tmpFolder.resolve("build.gradle"), "if (file('fail').exists()) { throw new GradleException('Failing build') }");
+      final Path fail = write(tmpFolder.resolve("fail"), "");
+      final File projectDirectory = tmpFolder.toFile();
+
+      assertThatThrownBy(() -> GradleConnectionPool.withConnection(projectDirectory, null, null,
+            connection -> connection.getModel(GradleProject.class)))
+            .isInstanceOf(BuildException.class);
+      final ProjectConnection failedConnection = GradleConnectionPool.withConnection(projectDirectory, null, null,
+            connection -> connection);
+
+      Files.delete(fail);
+      final ProjectConnection connection = GradleConnectionPool.withConnection(projectDirectory, null, null,
+            pooledConnection -> {
+               assertThat(pooledConnection.getModel(GradleProject.class).getName()).isEqualTo("failing");
+               return pooledConnection;
+            });
+      assertThat(connection).isSameAs(failedConnection);
+   }
+
+   private Path write(final Path file, final String content) throws IOException {
+      return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+   }
+
+}
@@ -0,0 +1,77 @@
+package org.jboss.shrinkwrap.resolver.impl.gradle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradleDependencyCacheTestCase {
+
+   private static final Set<ScopeType> COMPILE_AND_RUNTIME = EnumSet.of(ScopeType.COMPILE, ScopeType.RUNTIME);
+   private static final Set<String> ALL_MODULES = Collections.emptySet();
+
+   @TempDir
+   Path tmpFolder;
+
+   @Test
+   void fingerprint_changes_only_with_build_files() throws IOException {
+      write(tmpFolder.resolve("settings.gradle"), "include 'module'");
+      write(tmpFolder.resolve("module/build.gradle"), "apply plugin: 'java'");
+      final GradleDependencyCache dependencyCache = new GradleDependencyCache(tmpFolder.resolve("module").toString());
+      final String fingerprint = dependencyCache.fingerprint(COMPILE_AND_RUNTIME, ALL_MODULES);
+
+      write(tmpFolder.resolve("module/src/main/java/Foo.java"), "class Foo { }");
+      write(tmpFolder.resolve("module/build/tmp/other.gradle"), "generated");
+      write(tmpFolder.resolve(".gradle/cache.gradle"), "cache");
+      assertThat(dependencyCache.fingerprint(COMPILE_AND_RUNTIME, ALL_MODULES)).isEqualTo(fingerprint);
+
+      assertThat(dependencyCache.fingerprint(EnumSet.of(ScopeType.TEST), ALL_MODULES)).isNotEqualTo(fingerprint);
+      assertThat(dependencyCache.fingerprint(COMPILE_AND_RUNTIME, Collections.singleton(":module")))
+            .isNotEqualTo(fingerprint);
+      write(tmpFolder.resolve("gradle/libs.versions.toml"), "[versions]");
+      assertThat(dependencyCache.fingerprint(COMPILE_AND_RUNTIME, ALL_MODULES)).isNotEqualTo(fingerprint);
+   }
+
+   @Test
+   void stored_dependencies_are_valid_while_files_exist() throws IOException {
+      write(tmpFolder.resolve("build.gradle"), "apply plugin: 'java'");
+      final Path compile = write(tmpFolder.resolve("libs/compile.jar"), "compile");
+      final Path runtime = write(tmpFolder.resolve("libs/runtime.jar"), "runtime");
+      final GradleEffectiveDependencies dependencies = new GradleEffectiveDependencies();
+      dependencies.addDependency(":", ScopeType.COMPILE, compile.toFile());
+      dependencies.addDependency(":module.api", ScopeType.COMPILE, compile.toFile());
+      dependencies.addDependency(":module.api", ScopeType.RUNTIME, runtime.toFile());
+      final GradleDependencyCache dependencyCache = new GradleDependencyCache(tmpFolder.toString());
+      final String fingerprint = dependencyCache.fingerprint(COMPILE_AND_RUNTIME, ALL_MODULES);
+
+      assertThat(dependencyCache.load(fingerprint)).isNull();
+      dependencyCache.store(fingerprint, dependencies);
+
+      final GradleEffectiveDependencies cached = dependencyCache.load(fingerprint);
+      assertThat(cached).isNotNull();
+      assertThat(cached.getDependenciesByScope(ScopeType.COMPILE)).containsExactly(compile.toFile());
+      assertThat(cached.getDependenciesByScope(ScopeType.RUNTIME)).containsExactly(runtime.toFile());
+      assertThat(cached.getDependenciesByScope(ScopeType.TEST)).isEmpty();
+      assertThat(cached.getModules()).containsExactly(":", ":module.api");
+      assertThat(cached.getDependenciesByScope(":", ScopeType.RUNTIME)).isEmpty();
+      assertThat(cached.getDependenciesByScope(":module.api", ScopeType.COMPILE)).containsExactly(compile.toFile());
+      assertThat(dependencyCache.load(dependencyCache.fingerprint(EnumSet.of(ScopeType.TEST), ALL_MODULES))).isNull();
+
+      Files.delete(runtime);
+      assertThat(dependencyCache.load(fingerprint)).isNull();
+   }
+
+   private Path write(final Path file, final String content) throws IOException {
+      Files.createDirectories(file.getParent());
+      return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+   }
+
+}
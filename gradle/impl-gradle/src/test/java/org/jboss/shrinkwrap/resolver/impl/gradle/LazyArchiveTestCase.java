@@ -0,0 +1,32 @@
+package org.jboss.shrinkwrap.resolver.impl.gradle;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyArchiveTestCase {
+
+   @TempDir
+   Path tmpFolder;
+
+   @Test
+   void should_import_archive_on_first_use() {
+      final File file = tmpFolder.resolve("library.jar").toFile();
+      ShrinkWrap.create(JavaArchive.class).addClass(ScopeType.class).as(ZipExporter.class).exportTo(file);
+
+      final Archive<?> archive = LazyArchive.create(file, JavaArchive.class);
+
+      assertThat(archive).isInstanceOf(JavaArchive.class);
+      assertThat(archive.getName()).isEqualTo("library.jar");
+      assertThat(((JavaArchive) archive).contains("org/jboss/shrinkwrap/resolver/impl/gradle/ScopeType.class")).isTrue();
+   }
+
+}
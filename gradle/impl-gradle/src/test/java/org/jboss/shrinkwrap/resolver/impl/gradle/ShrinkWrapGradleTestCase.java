@@ -4,6 +4,9 @@ import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,4 +40,80 @@ class ShrinkWrapGradleTestCase {
         assertThat(archives).extracting("name").doesNotContain("shrinkwrap-resolver-depchain-2.2.6.pom");
     }
 
+    @Test
+    void should_return_only_requested_scope_in_simple_build_script() {
+        final List<? extends Archive<?>> archives = Gradle.resolver().forProjectDirectory("src/test/resources/simple")
+                                                       .importTestDependencies()
+                                                       .resolve().asList(JavaArchive.class);
+
+        assertThat(archives).extracting("name").contains("junit-jupiter-5.11.3.jar")
+                            .doesNotContain("slf4j-simple-1.7.5.jar", "slf4j-api-1.7.5.jar");
+    }
+
+    @Test
+    void should_return_dependencies_as_files_in_simple_build_script() {
+        final GradleStrategyStage strategyStage = Gradle.resolver().forProjectDirectory("src/test/resources/simple")
+                                                       .importCompileAndRuntime()
+                                                       .resolve();
+
+        assertThat(strategyStage.asFile()).extracting("name").contains("slf4j-simple-1.7.5.jar", "slf4j-api-1.7.5.jar");
+        assertThat(strategyStage.asPath()).hasSameSizeAs(strategyStage.asFile());
+    }
+
+    @Test
+    void should_reuse_pooled_connection_for_same_project() {
+        GradleConnectionPool.closeAll();
+        final List<? extends Archive<?>> archives = Gradle.resolver().forProjectDirectory("src/test/resources/simple")
+                                                       .importCompileAndRuntime()
+                                                       .resolve().asList(JavaArchive.class);
+        final List<? extends Archive<?>> reused = Gradle.resolver().forProjectDirectory(new File("src/test/resources/simple"))
+                                                     .importCompileAndRuntime()
+                                                     .resolve().asList(JavaArchive.class);
+
+        assertThat(GradleConnectionPool.size()).isEqualTo(1);
+        assertThat(reused).extracting("name").containsExactlyElementsOf(extractNames(archives));
+    }
+
+    @Test
+    void should_return_dependencies_of_each_module_separately() {
+        final GradleEffectiveDependencies dependencies = GradleRunner.getEffectiveDependencies(
+              "src/test/resources/multimodule", EnumSet.of(ScopeType.COMPILE, ScopeType.RUNTIME));
+
+        assertThat(dependencies.getModules()).contains(":core", ":web");
+        assertThat(dependencies.getDependenciesByScope(":core", ScopeType.COMPILE)).extracting("name")
+                                .containsExactly("commons-codec-1.7.jar");
+        assertThat(dependencies.getDependenciesByScope(":core", ScopeType.RUNTIME)).isEmpty();
+        // the module dependency on core is not a library, its implementation dependencies are on the runtime classpath
+        assertThat(dependencies.getDependenciesByScope(":web", ScopeType.COMPILE)).extracting("name")
+                                .containsExactly("javax.inject-1.jar");
+        assertThat(dependencies.getDependenciesByScope(":web", ScopeType.RUNTIME)).extracting("name")
+                                .containsExactly("commons-codec-1.7.jar");
+        // a dependency shared by the modules is kept only once
+        assertThat(dependencies.getDependenciesByScope(":web", ScopeType.RUNTIME).get(0))
+              .isSameAs(dependencies.getDependenciesByScope(":core", ScopeType.COMPILE).get(0));
+    }
+
+    @Test
+    void should_return_dependencies_of_given_modules_only() {
+        final List<? extends Archive<?>> core = Gradle.resolver().forProjectDirectory("src/test/resources/multimodule")
+                                                   .importCompileAndRuntime()
+                                                   .forModules(":core")
+                                                   .resolve().asList(JavaArchive.class);
+        final List<? extends Archive<?>> web = Gradle.resolver().forProjectDirectory("src/test/resources/multimodule")
+                                                  .importCompileAndRuntime()
+                                                  .forModules(":web")
+                                                  .resolve().asList(JavaArchive.class);
+
+        assertThat(core).extracting("name").containsExactly("commons-codec-1.7.jar");
+        assertThat(web).extracting("name").containsExactlyInAnyOrder("javax.inject-1.jar", "commons-codec-1.7.jar");
+    }
+
+    private static List<String> extractNames(final List<? extends Archive<?>> archives) {
+        final List<String> names = new ArrayList<>();
+        for (Archive<?> archive : archives) {
+            names.add(archive.getName());
+        }
+        return names;
+    }
+
 }
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.api.maven.archive.importer;
+
+import java.util.Map;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Assignable;
+import org.jboss.shrinkwrap.resolver.api.maven.ScopeType;
+import org.jboss.shrinkwrap.resolver.api.maven.strategy.MavenResolutionStrategy;
+
+/**
+ * Instance of {@link MavenImporter} that has configuration of a multi-module project loaded from an aggregator POM file.
+ * All modules share a single Maven session and a single cache of effective models. Modules are ordered topologically
+ * with respect to their dependencies on each other, modules which do not depend on each other are built in parallel.
+ *
+ * @see PomlessMavenImporter#loadReactorFromFile(java.io.File, String...)
+ */
+public interface PomEquippedReactorImporter {
+
+    /**
+     * Builds an archive for every module of the reactor. Packages following scopes: {@link ScopeType#COMPILE},
+     * {@link ScopeType#IMPORT}, {@link ScopeType#RUNTIME}, {@link ScopeType#SYSTEM}
+     *
+     * @return This modified {@link PomEquippedReactorImporter} instance with built archives
+     * @throws MavenImporterException If any of the modules cannot be built
+     */
+    PomEquippedReactorImporter importBuildOutput() throws MavenImporterException;
+
+    /**
+     * Builds an archive for every module of the reactor. Uses passed strategy to define dependencies to be packaged into the
+     * archives.
+     *
+     * @param strategy The strategy defining objects to be packaged
+     * @return This modified {@link PomEquippedReactorImporter} instance with built archives
+     * @throws IllegalArgumentException If no strategy is specified
+     * @throws MavenImporterException If any of the modules cannot be built
+     */
+    PomEquippedReactorImporter importBuildOutput(MavenResolutionStrategy strategy) throws IllegalArgumentException,
+            MavenImporterException;
+
+    /**
+     * Returns archives of all modules of the reactor, keyed by <code>groupId:artifactId</code> of the module. Modules with
+     * <code>pom</code> packaging are not included. Iteration order of the map follows the build order of the modules.
+     *
+     * @return Archives of the modules
+     */
+    Map<String, Archive<?>> getArchives();
+
+    /**
+     * Returns an archive of the module identified by its <code>groupId:artifactId</code> as the given type.
+     *
+     * @param module <code>groupId:artifactId</code> of the module
+     * @param type The type the archive should be returned as
+     * @param <TYPE> The type the archive should be returned as
+     * @return The archive of the module
+     * @throws IllegalArgumentException If there is no such module in the reactor
+     */
+    <TYPE extends Assignable> TYPE as(String module, Class<TYPE> type) throws IllegalArgumentException;
+
+}
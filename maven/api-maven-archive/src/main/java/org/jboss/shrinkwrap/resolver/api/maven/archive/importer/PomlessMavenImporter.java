@@ -118,6 +118,35 @@ public interface PomlessMavenImporter {
     PomEquippedMavenImporter loadPomFromClassLoaderResource(String pathToPomResource, ClassLoader cl, String... profiles)
             throws IllegalArgumentException, InvalidConfigurationFileException;
 
+    /**
+     * Configures the Maven Importer from a multi-module project described by the aggregator POM {@link File}. All modules,
+     * including modules of nested aggregators, are loaded using the configuration of this importer.
+     *
+     * @param pomFile An aggregator POM {@link File} the maven Importer should be configured from.
+     * @param profiles Active/inactive profiles
+     * @return The configured Maven Importer for all the modules of the reactor.
+     * @throws IllegalArgumentException If no file was specified, if the file does not exist or points to a directory
+     * @throws InvalidConfigurationFileException If the contents of any of the POM files are not in appropriate format
+     * @throws MavenImporterException If the modules have a cyclic dependency
+     */
+    PomEquippedReactorImporter loadReactorFromFile(File pomFile, String... profiles) throws IllegalArgumentException,
+            InvalidConfigurationFileException, MavenImporterException;
+
+    /**
+     * Configures the Maven Importer from a multi-module project described by the aggregator POM file located at the
+     * specified path. The path will be represented as a new {@link File} by means of {@link File#File(String)}
+     *
+     * @param pathToPomFile A path to an aggregator POM file the maven Importer should be configured from.
+     * @param profiles Active/inactive profiles
+     * @return The configured Maven Importer for all the modules of the reactor.
+     * @throws IllegalArgumentException If no path was specified, or if the path points to a file which does not exist or is a
+     *         directory
+     * @throws InvalidConfigurationFileException If the contents of any of the POM files are not in appropriate format
+     * @throws MavenImporterException If the modules have a cyclic dependency
+     */
+    PomEquippedReactorImporter loadReactorFromFile(String pathToPomFile, String... profiles) throws IllegalArgumentException,
+            InvalidConfigurationFileException, MavenImporterException;
+
     /**
      * <i>Optional operation</i>. Sets whether resolution should be done in "offline" (i.e. not connected to Internet) mode.
      * By default, resolution is done in online mode
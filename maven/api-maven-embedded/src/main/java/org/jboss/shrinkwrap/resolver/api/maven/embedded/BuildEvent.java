@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.shrinkwrap.resolver.api.maven.embedded;
+
+/**
+ * An event of a lifecycle of a Maven build: a start or an end of the build session, of a build of a project or of an
+ * execution of a mojo. The events are emitted by the Maven build itself, so they are independent of the build output.
+ */
+public class BuildEvent {
+
+    /**
+     * Type of {@link BuildEvent}
+     */
+    public enum Type {
+        SESSION_STARTED,
+        SESSION_ENDED,
+        PROJECT_STARTED,
+        PROJECT_SUCCEEDED,
+        PROJECT_FAILED,
+        PROJECT_SKIPPED,
+        MOJO_STARTED,
+        MOJO_SUCCEEDED,
+        MOJO_FAILED,
+        MOJO_SKIPPED
+    }
+
+    private final Type type;
+    private final String project;
+    private final String mojo;
+    private final long timestamp;
+    private final long duration;
+    private final String failure;
+
+    public BuildEvent(Type type, String project, String mojo, long timestamp, long duration, String failure) {
+        this.type = type;
+        this.project = project;
+        this.mojo = mojo;
+        this.timestamp = timestamp;
+        this.duration = duration;
+        this.failure = failure;
+    }
+
+    /**
+     * Returns the type of this event
+     *
+     * @return The type of this event
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the project the event is related to in the format {@code groupId:artifactId:version}, or {@code null}
+     * for the events of the build session
+     *
+     * @return The project the event is related to, or {@code null} for the events of the build session
+     */
+    public String getProject() {
+        return project;
+    }
+
+    /**
+     * Returns the mojo execution the event is related to in the format
+     * {@code groupId:artifactId:version:goal (executionId)}, or {@code null} for the events of the build session and
+     * of the projects
+     *
+     * @return The mojo execution the event is related to, or {@code null} if the event is not related to a mojo
+     */
+    public String getMojo() {
+        return mojo;
+    }
+
+    /**
+     * Returns the time of the event in milliseconds since the epoch
+     *
+     * @return The time of the event in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the duration in milliseconds of the finished session, project build or mojo execution, or {@code -1}
+     * for the events that don't finish anything
+     *
+     * @return The duration in milliseconds, or {@code -1} for the events that don't finish anything
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns the message of the failure of the project build or the mojo execution, or {@code null} if nothing failed
+     *
+     * @return The message of the failure, or {@code null} if nothing failed
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(type.name());
+        if (project != null) {
+            builder.append(' ').append(project);
+        }
+        if (mojo != null) {
+            builder.append(' ').append(mojo);
+        }
+        if (duration >= 0) {
+            builder.append(" (").append(duration).append(" ms)");
+        }
+        if (failure != null) {
+            builder.append(": ").append(failure);
+        }
+        return builder.toString();
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.jboss.shrinkwrap.resolver.api.maven.embedded;
 
+import java.util.function.Consumer;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.daemon.DaemonBuildTrigger;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.daemon.DaemonBuilder;
 
@@ -26,4 +27,17 @@ import org.jboss.shrinkwrap.resolver.api.maven.embedded.daemon.DaemonBuilder;
 public interface BuildStage<DAEMON_TRIGGER_TYPE extends DaemonBuildTrigger>
     extends StandardBuilder, DaemonBuilder<DAEMON_TRIGGER_TYPE> {
 
+    /**
+     * Registers a listener that receives the {@link BuildEvent}s of the build: the starts and ends of the build session,
+     * of the builds of the projects and of the mojo executions, including their durations and failures. The events are
+     * sent by an event spy extension added to the invoked Maven, so they don't depend on the build output.
+     * <p>
+     * The listeners are called by a single thread in the order the events have been emitted, so they should return
+     * quickly. They can be used to find out that a daemon build is ready or to profile slow mojos.
+     * </p>
+     *
+     * @param listener The listener receiving the events of the build
+     * @return Modified EmbeddedMaven instance
+     */
+    BuildStage<DAEMON_TRIGGER_TYPE> addBuildEventListener(Consumer<BuildEvent> listener);
 }
@@ -7,6 +7,14 @@ import org.apache.maven.model.Model;
 import org.apache.maven.shared.invoker.InvocationRequest;
 import org.apache.maven.shared.invoker.Invoker;
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.Filter;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
+import org.jboss.shrinkwrap.api.spec.EnterpriseArchive;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.jboss.shrinkwrap.resolver.api.maven.PackagingType;
 
 /**
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
@@ -24,11 +32,54 @@ public interface BuiltProject {
      * </p>
      * If no archive with a corresponding name is found, then {@code null} is returned
      *
-     *
      * @return An {@link Archive} with a default name. If no archive is found then null is returned
      */
     Archive<?> getDefaultBuiltArchive();
 
+    /**
+     * Tries to find an {@link Archive} with a default name (see {@link #getDefaultBuiltArchive()}) and imports only the
+     * entries accepted by the given filter. This is useful when only a few entries of a large archive are inspected.
+     *
+     * @param filter The filter of the entries to be imported
+     * @return An {@link Archive} with a default name containing only the accepted entries. If no archive is found then
+     * null is returned
+     */
+    default Archive<?> getDefaultBuiltArchive(Filter<ArchivePath> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter can not be null!");
+        }
+        final File file = getDefaultBuiltArchiveFile();
+        if (file == null) {
+            return null;
+        }
+        final PackagingType packagingType = PackagingType.fromCache(getModel().getPackaging());
+        if (packagingType == null) {
+            throw new IllegalArgumentException("The packaging type " + getModel().getPackaging() + " is not supported");
+        }
+        final Archive<?> archive = ShrinkWrap.create(ZipImporter.class, file.getName()).importFrom(file, filter);
+        if (packagingType == PackagingType.EAR) {
+            return archive.as(EnterpriseArchive.class);
+        } else if (packagingType == PackagingType.WAR) {
+            return archive.as(WebArchive.class);
+        }
+        return archive.as(JavaArchive.class);
+    }
+
+    /**
+     * Returns the file of the archive with a default name (see {@link #getDefaultBuiltArchive()}) without importing it.
+     * If the project has the {@code pom} packaging, then {@code null} is returned
+     *
+     * @return The file of the archive with a default name. If the project has the {@code pom} packaging then null is
+     * returned
+     */
+    default File getDefaultBuiltArchiveFile() {
+        final Model model = getModel();
+        if (PackagingType.POM.getId().equals(model.getPackaging())) {
+            return null;
+        }
+        return new File(model.getBuild().getDirectory(), model.getBuild().getFinalName() + "." + model.getPackaging());
+    }
+
     /**
      * Returns an instance of {@link BuiltProject} representing module with the given name.
      * The name has to equal to the string specified in current project POM file
@@ -86,6 +137,10 @@ public interface BuiltProject {
      *     build and you use the method {@link EmbeddedMaven#withMavenInvokerSet(InvocationRequest, Invoker)} for it,
      *     then no Maven log is set by default and this method returns {@code null}!
      * </p>
+     * <p>
+     *     Only the last lines of the build output are retained in the log, 20000 by default. The limit can be changed
+     *     by the system property {@code org.jboss.shrinkwrap.resolver.maven.embedded.maxLogLines}.
+     * </p>
      *
      * @return A log of a Maven build of this project. If no log has been retrieved and set, then null is returned.
      */
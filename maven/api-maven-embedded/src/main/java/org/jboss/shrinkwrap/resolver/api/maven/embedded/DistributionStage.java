@@ -41,7 +41,8 @@ public interface DistributionStage<NEXT_STEP extends BuildStage<DAEMON_TRIGGER_T
     /**
      * Configures EmbeddedMaven to build project with given Maven distribution. If you set {@code useCache} to {@code true}
      * then the cache directory $HOME/.arquillian/resolver/maven/ if checked for the presence of the zip file. If the zip file
-     * is not present, then it will be downloaded from the given URL and the zip file cached.
+     * is not present, then it will be downloaded from the given URL and the zip file cached. The cached distribution is
+     * also extracted only once into the cache directory and shared by all projects.
      *
      * @param mavenDistribution Maven distribution which will be used
      * @param useCache Whether the cache directory $HOME/.arquillian/resolver/maven/ should be used
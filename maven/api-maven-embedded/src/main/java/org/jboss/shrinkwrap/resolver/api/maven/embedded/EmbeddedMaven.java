@@ -89,4 +89,18 @@ public class EmbeddedMaven {
         return embeddedMaven.setMavenInvoker(request, invoker);
 
     }
+
+    /**
+     * Creates an instance that runs several independent builds concurrently with a limited parallelism.
+     * <p>
+     *     The builds are configured as usual, using either {@link #forProject(File)} or
+     *     {@link #withMavenInvokerSet(InvocationRequest, Invoker)}, and then submitted to the returned instance
+     *     instead of being built directly.
+     * </p>
+     *
+     * @return A new instance of {@link ParallelEmbeddedMaven}
+     */
+    public static ParallelEmbeddedMaven inParallel() {
+        return Resolvers.use(ParallelEmbeddedMaven.class);
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.api.maven.embedded;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.jboss.shrinkwrap.resolver.api.ResolverSystem;
+
+/**
+ * Runs several independent EmbeddedMaven builds concurrently. Each submitted build is executed as soon as there is
+ * a free slot; the number of slots is limited by the max parallelism and by the memory budget.
+ * <p>
+ * The limits have to be set before the first build is submitted. When all builds are submitted, the instance should be
+ * closed - the builds that have already been submitted are still finished, but no other build can be submitted.
+ * </p>
+ * <pre>
+ * try (ParallelEmbeddedMaven parallel = EmbeddedMaven.inParallel().setMaxParallelism(2)) {
+ *     CompletableFuture&lt;BuiltProject&gt; first = parallel.submit(EmbeddedMaven.forProject(firstPom).setGoals("package"));
+ *     CompletableFuture&lt;BuiltProject&gt; second = parallel.submit(EmbeddedMaven.forProject(secondPom).setGoals("package"));
+ *     ...
+ * }
+ * </pre>
+ */
+public interface ParallelEmbeddedMaven extends ResolverSystem, AutoCloseable {
+
+    /**
+     * Sets the maximal number of builds that run at the same time. Default is the number of available processors.
+     *
+     * @param maxParallelism The maximal number of concurrently running builds, has to be positive
+     * @return Modified instance
+     * @throws IllegalStateException If a build has already been submitted
+     */
+    ParallelEmbeddedMaven setMaxParallelism(int maxParallelism);
+
+    /**
+     * Sets the memory budget shared by all concurrently running builds. The number of concurrently running builds is
+     * limited so that the heap of all of them fits into the total budget; if the build is configured via
+     * {@link EmbeddedMaven}, its Maven JVM is also started with the maximal heap size set to {@code perBuildMegabytes}
+     * unless the Maven opts already specify it.
+     *
+     * @param totalMegabytes The memory (in megabytes) the concurrently running builds may use in total
+     * @param perBuildMegabytes The memory (in megabytes) a single build may use
+     * @return Modified instance
+     * @throws IllegalStateException If a build has already been submitted
+     */
+    ParallelEmbeddedMaven setMemoryBudget(int totalMegabytes, int perBuildMegabytes);
+
+    /**
+     * Submits the given build to be run as soon as there is a free slot.
+     *
+     * @param build The configured build
+     * @return A future completed with an instance of @{BuiltProject} as a representation of the built project, or
+     * completed exceptionally if the build has failed
+     * @throws IllegalStateException If this instance has already been closed
+     */
+    CompletableFuture<BuiltProject> submit(StandardBuilder build);
+
+    /**
+     * Stops accepting new builds. The builds that have already been submitted are still finished.
+     */
+    @Override
+    void close();
+}
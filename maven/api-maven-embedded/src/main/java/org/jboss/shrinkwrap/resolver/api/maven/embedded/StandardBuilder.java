@@ -23,4 +23,34 @@ public interface StandardBuilder {
      * @return Modified EmbeddedMaven instance
      */
     StandardBuilder ignoreFailure();
+
+    /**
+     * Sets if the result of the last successful build of the project should be reused if neither the build
+     * configuration (goals, profiles, properties, ...) nor the files of the project directory have changed since then
+     * and the files the build left in the target directories are unchanged. In such a case no Maven build is invoked.
+     * Default is false
+     * <p>
+     * The files of the project are compared by their size and time of the last modification; the build directories
+     * named {@code target} and hidden files are not taken into account.
+     * </p>
+     * <p>
+     * Builders not supporting the cache ignore this setting and always build the project.
+     * </p>
+     *
+     * @param useBuildCache If the result of the last successful build should be reused
+     * @return Modified EmbeddedMaven instance
+     */
+    default StandardBuilder useBuildCache(boolean useBuildCache) {
+        return this;
+    }
+
+    /**
+     * Sets that the result of the last successful build of the project should be reused if it is still up to date.
+     *
+     * @return Modified EmbeddedMaven instance
+     * @see #useBuildCache(boolean)
+     */
+    default StandardBuilder useBuildCache() {
+        return useBuildCache(true);
+    }
 }
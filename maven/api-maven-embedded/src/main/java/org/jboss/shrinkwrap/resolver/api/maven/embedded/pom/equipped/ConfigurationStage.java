@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Properties;
+import java.util.function.Consumer;
 import org.apache.maven.shared.invoker.InvocationRequest;
 import org.apache.maven.shared.invoker.InvokerLogger;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuildStage;
@@ -355,6 +356,16 @@ public interface ConfigurationStage<DIST_OR_CONFIG extends ConfigurationStage<Co
       */
      DIST_OR_CONFIG setQuiet();
 
+     /**
+      * Registers a listener that receives the lines of the build output as they are produced, regardless of the quiet
+      * mode. The lines are passed to the listeners by a single thread in the order they have been consumed, so the
+      * listeners should return quickly; a slow listener holds up the processing of the output.
+      *
+      * @param listener The listener receiving the lines of the build output
+      * @return Modified EmbeddedMaven instance
+      */
+     DIST_OR_CONFIG addOutputListener(Consumer<String> listener);
+
     /**
      * Sets an alternate POM file. Equivalent of -f or --file
      *
@@ -370,4 +381,31 @@ public interface ConfigurationStage<DIST_OR_CONFIG extends ConfigurationStage<Co
       * @return Modified EmbeddedMaven instance
       */
      DIST_OR_CONFIG setDebugLoggerLevel();
+
+     /**
+      * Submits the build to a persistent Maven Daemon (mvnd) of the given installation instead of forking a new Maven
+      * JVM for every build. The daemon keeps its JVM, plugin realms and JIT-compiled code warm, so successive builds
+      * of the same (or similar) projects do not pay the startup costs again. The build output is still streamed to the
+      * output handlers, so {@link BuiltProject#getMavenLog()} as well as the quiet mode work as usual.
+      * <p>
+      * The daemon client communicates with the daemon over a local socket; the daemon stays alive after the build
+      * until its idle timeout expires (see the {@code mvnd.idleTimeout} property). The build is always executed in
+      * batch mode, as the rich terminal output of the client cannot be consumed line by line.
+      * </p>
+      *
+      * @param mvndHome The Maven Daemon installation that should be used
+      * @return Modified instance of EmbeddedMaven
+      */
+     DIST_OR_CONFIG useMavenDaemon(File mvndHome);
+
+     /**
+      * Submits the build to a persistent Maven Daemon (mvnd) of the given version. If the archive of the distribution
+      * for the current platform is not cached in directory $HOME/.arquillian/resolver/maven/ then it will be downloaded
+      * from Apache web pages and cached.
+      *
+      * @param version Version of the Maven Daemon which will be used
+      * @return Modified instance of EmbeddedMaven
+      * @see #useMavenDaemon(File)
+      */
+     DIST_OR_CONFIG useMavenDaemon(String version);
 }
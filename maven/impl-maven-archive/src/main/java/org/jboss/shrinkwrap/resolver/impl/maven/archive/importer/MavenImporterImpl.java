@@ -27,7 +27,9 @@ import org.jboss.shrinkwrap.resolver.api.maven.MavenWorkingSession;
 import org.jboss.shrinkwrap.resolver.api.maven.PackagingType;
 import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.ConfiguredMavenImporter;
 import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.MavenImporter;
+import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.MavenImporterException;
 import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.PomEquippedMavenImporter;
+import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.PomEquippedReactorImporter;
 import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.PomlessMavenImporter;
 import org.jboss.shrinkwrap.resolver.impl.maven.MavenWorkingSessionImpl;
 import org.jboss.shrinkwrap.resolver.impl.maven.task.ConfigureSettingsFromFileTask;
@@ -172,6 +174,21 @@ public class MavenImporterImpl implements MavenImporter, ConfiguredMavenImporter
         return new PomEquippedMavenImporterImpl(processor);
     }
 
+    @Override
+    public PomEquippedReactorImporter loadReactorFromFile(File pomFile, String... profiles) throws IllegalArgumentException,
+            InvalidConfigurationFileException, MavenImporterException {
+        Validate.notNull(pomFile, "POM file must be specified");
+        Validate.readable(pomFile, "Path to the POM ('" + pomFile + "') file must be defined and accessible");
+        return new PomEquippedReactorImporterImpl((MavenWorkingSessionImpl) session, pomFile, profiles);
+    }
+
+    @Override
+    public PomEquippedReactorImporter loadReactorFromFile(String pathToPomFile, String... profiles)
+            throws IllegalArgumentException, InvalidConfigurationFileException, MavenImporterException {
+        Validate.notNullOrEmpty(pathToPomFile, "Path to a POM file must be specified");
+        return loadReactorFromFile(new File(pathToPomFile), profiles);
+    }
+
     @Override
     public PomlessMavenImporter offline(boolean offline) {
         session.setOffline(true);
@@ -0,0 +1,307 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven.archive.importer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.maven.model.building.ModelCache;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Assignable;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.resolver.api.maven.MavenWorkingSession;
+import org.jboss.shrinkwrap.resolver.api.maven.PackagingType;
+import org.jboss.shrinkwrap.resolver.api.maven.ScopeType;
+import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.MavenImporterException;
+import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.PomEquippedReactorImporter;
+import org.jboss.shrinkwrap.resolver.api.maven.coordinate.MavenDependency;
+import org.jboss.shrinkwrap.resolver.api.maven.pom.ParsedPomFile;
+import org.jboss.shrinkwrap.resolver.api.maven.strategy.AcceptScopesStrategy;
+import org.jboss.shrinkwrap.resolver.api.maven.strategy.MavenResolutionStrategy;
+import org.jboss.shrinkwrap.resolver.impl.maven.MavenWorkingSessionImpl;
+import org.jboss.shrinkwrap.resolver.impl.maven.internal.MavenModelCache;
+import org.jboss.shrinkwrap.resolver.impl.maven.task.InferPackagingTypeTask;
+import org.jboss.shrinkwrap.resolver.impl.maven.task.LoadPomDependenciesTask;
+import org.jboss.shrinkwrap.resolver.impl.maven.task.LoadPomTask;
+import org.jboss.shrinkwrap.resolver.impl.maven.util.Validate;
+import org.jboss.shrinkwrap.resolver.spi.maven.archive.packaging.PackagingProcessor;
+import org.jboss.shrinkwrap.resolver.spi.maven.archive.packaging.PackagingProcessors;
+
+/**
+ * Implementation of {@link PomEquippedReactorImporter}. Every module gets its own {@link MavenWorkingSessionImpl} derived
+ * from the session of the importer, so the repository system, settings and repository caches are created only once,
+ * and all the model building requests share a single {@link ModelCache}. Modules are resolved from the reactor through
+ * {@link ReactorWorkspaceReader}, so a module is compiled and packaged with the archives of the modules it depends on,
+ * as built by this importer.
+ */
+public class PomEquippedReactorImporterImpl implements PomEquippedReactorImporter {
+
+    private static final Logger log = Logger.getLogger(PomEquippedReactorImporterImpl.class.getName());
+
+    /**
+     * System property limiting the number of modules built concurrently, defaults to the number of available processors.
+     * Value of 1 builds modules sequentially.
+     */
+    public static final String REACTOR_THREADS_KEY = "org.jboss.shrinkwrap.resolver.maven.importer.reactorThreads";
+
+    // modules in build order, grouped so that modules of a group do not depend on each other
+    private final List<List<Module>> buildGroups;
+
+    public PomEquippedReactorImporterImpl(MavenWorkingSessionImpl session, File pomFile, String... profiles)
+        throws MavenImporterException {
+        final ModelCache modelCache = new MavenModelCache();
+        final ReactorWorkspaceReader workspaceReader = new ReactorWorkspaceReader();
+        final MavenWorkingSessionImpl aggregatorSession = new MavenWorkingSessionImpl(session, modelCache);
+        LoadPomTask.loadPomFromFile(pomFile, profiles).execute(aggregatorSession);
+
+        final Map<String, Module> modules = new LinkedHashMap<>();
+        loadModules(session, modelCache, workspaceReader, aggregatorSession.getParsedPomFile(), profiles, modules);
+        this.buildGroups = sortModules(modules);
+    }
+
+    @Override
+    public PomEquippedReactorImporter importBuildOutput() throws MavenImporterException {
+        MavenResolutionStrategy strategy = new AcceptScopesStrategy(ScopeType.COMPILE, ScopeType.IMPORT, ScopeType.RUNTIME,
+            ScopeType.SYSTEM);
+        return importBuildOutput(strategy);
+    }
+
+    @Override
+    public PomEquippedReactorImporter importBuildOutput(final MavenResolutionStrategy strategy)
+        throws IllegalArgumentException, MavenImporterException {
+        Validate.notNull(strategy, "Strategy must not be null");
+
+        int maxGroupSize = 0;
+        for (List<Module> group : buildGroups) {
+            maxGroupSize = Math.max(maxGroupSize, group.size());
+        }
+        final int threads = Math.min(maxGroupSize,
+            Math.max(1, Integer.getInteger(REACTOR_THREADS_KEY, Runtime.getRuntime().availableProcessors())));
+
+        if (threads <= 1) {
+            for (List<Module> group : buildGroups) {
+                for (Module module : group) {
+                    module.importBuildOutput(strategy);
+                }
+            }
+            return this;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "shrinkwrap-resolver-reactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (List<Module> group : buildGroups) {
+                final List<Future<?>> futures = new ArrayList<>(group.size());
+                for (final Module module : group) {
+                    futures.add(executor.submit(() -> module.importBuildOutput(strategy)));
+                }
+                // next group might depend on any module of this one
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            return this;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MavenImporterException("Interrupted while building modules of the reactor", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new MavenImporterException("Unable to build modules of the reactor", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public Map<String, Archive<?>> getArchives() {
+        final Map<String, Archive<?>> archives = new LinkedHashMap<>();
+        for (List<Module> group : buildGroups) {
+            for (Module module : group) {
+                archives.put(module.key, module.processor.getResultingArchive());
+            }
+        }
+        return Collections.unmodifiableMap(archives);
+    }
+
+    @Override
+    public <TYPE extends Assignable> TYPE as(String module, Class<TYPE> type) throws IllegalArgumentException {
+        final Archive<?> archive = getArchives().get(module);
+        if (archive == null) {
+            throw new IllegalArgumentException("There is no module " + module + " in the reactor, available modules are "
+                + getArchives().keySet());
+        }
+        return archive.as(type);
+    }
+
+    private static void loadModules(MavenWorkingSessionImpl session, ModelCache modelCache,
+        ReactorWorkspaceReader workspaceReader, ParsedPomFile aggregator, String[] profiles, Map<String, Module> modules) {
+
+        for (String moduleName : aggregator.getModel().getModules()) {
+            File modulePom = new File(aggregator.getBaseDirectory(), moduleName);
+            if (modulePom.isDirectory()) {
+                modulePom = new File(modulePom, "pom.xml");
+            }
+
+            final MavenWorkingSessionImpl moduleSession = new MavenWorkingSessionImpl(session, modelCache);
+            moduleSession.addWorkspaceReader(workspaceReader);
+            LoadPomTask.loadPomFromFile(modulePom, profiles).execute(moduleSession);
+            final ParsedPomFile parsedPomFile = moduleSession.getParsedPomFile();
+
+            // nested aggregator
+            if (PackagingType.POM.equals(parsedPomFile.getPackagingType())) {
+                loadModules(session, modelCache, workspaceReader, parsedPomFile, profiles, modules);
+                continue;
+            }
+
+            LoadPomDependenciesTask.INSTANCE.execute(moduleSession);
+            final PackagingType packagingType = InferPackagingTypeTask.INSTANCE.execute(moduleSession);
+            final PackagingProcessor<? extends Archive<?>> processor = newProcessor(packagingType);
+            processor.configure(ShrinkWrap.create(JavaArchive.class), moduleSession);
+
+            workspaceReader.addModule(parsedPomFile);
+            final Module module = new Module(parsedPomFile, moduleSession, processor, workspaceReader);
+            modules.put(module.key, module);
+        }
+    }
+
+    /**
+     * Packaging processors are registered as shared instances, while they keep the state of a single import. Hence every
+     * module needs a new instance.
+     */
+    @SuppressWarnings("unchecked")
+    private static PackagingProcessor<? extends Archive<?>> newProcessor(PackagingType packagingType) {
+        final PackagingProcessor<? extends Archive<?>> processor = PackagingProcessors.find(packagingType);
+        try {
+            return processor.getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new MavenImporterException("Unable to create packaging processor " + processor.getClass().getName()
+                + " for " + packagingType + " packaging", e);
+        }
+    }
+
+    /**
+     * Orders the modules topologically, so a module is always built after modules it depends on.
+     */
+    private static List<List<Module>> sortModules(Map<String, Module> modules) throws MavenImporterException {
+        final Map<String, Set<String>> remaining = new LinkedHashMap<>();
+        for (Module module : modules.values()) {
+            final Set<String> reactorDependencies = new LinkedHashSet<>(module.dependencies);
+            reactorDependencies.retainAll(modules.keySet());
+            reactorDependencies.remove(module.key);
+            for (String dependency : reactorDependencies) {
+                modules.get(dependency).upstream = true;
+            }
+            remaining.put(module.key, reactorDependencies);
+        }
+
+        final List<List<Module>> groups = new ArrayList<>();
+        while (!remaining.isEmpty()) {
+            final List<Module> group = new ArrayList<>();
+            for (Map.Entry<String, Set<String>> entry : remaining.entrySet()) {
+                if (entry.getValue().isEmpty()) {
+                    group.add(modules.get(entry.getKey()));
+                }
+            }
+            if (group.isEmpty()) {
+                throw new MavenImporterException("The modules of the reactor contain a cycle: " + remaining);
+            }
+            for (Module module : group) {
+                remaining.remove(module.key);
+            }
+            for (Set<String> dependencies : remaining.values()) {
+                for (Module module : group) {
+                    dependencies.remove(module.key);
+                }
+            }
+            groups.add(group);
+        }
+
+        if (log.isLoggable(Level.FINE)) {
+            log.log(Level.FINE, "Reactor build order: {0}", groups);
+        }
+        return groups;
+    }
+
+    private static final class Module {
+        private final String key;
+        private final Set<String> dependencies;
+        private final MavenWorkingSession session;
+        private final PackagingProcessor<? extends Archive<?>> processor;
+        private final ReactorWorkspaceReader workspaceReader;
+        // whether other modules of the reactor depend on this one
+        private boolean upstream;
+
+        private Module(ParsedPomFile parsedPomFile, MavenWorkingSession session,
+            PackagingProcessor<? extends Archive<?>> processor, ReactorWorkspaceReader workspaceReader) {
+            this.key = parsedPomFile.getGroupId() + ":" + parsedPomFile.getArtifactId();
+            this.dependencies = new LinkedHashSet<>();
+            for (MavenDependency dependency : parsedPomFile.getDependencies()) {
+                this.dependencies.add(dependency.getGroupId() + ":" + dependency.getArtifactId());
+            }
+            this.session = session;
+            this.processor = processor;
+            this.workspaceReader = workspaceReader;
+        }
+
+        private void importBuildOutput(MavenResolutionStrategy strategy) {
+            if (log.isLoggable(Level.FINE)) {
+                log.log(Level.FINE, "Building module {0} from {1}", new Object[] { key,
+                    session.getParsedPomFile().getBaseDirectory() });
+            }
+            processor.importBuildOutput(strategy);
+            if (!upstream) {
+                return;
+            }
+
+            // modules depending on this one are compiled and packaged with the archive, hence it needs to be a file
+            final ParsedPomFile parsedPomFile = session.getParsedPomFile();
+            final File archiveFile = new File(parsedPomFile.getModel().getBuild().getDirectory(),
+                parsedPomFile.getFinalName());
+            if (!archiveFile.getParentFile().isDirectory() && !archiveFile.getParentFile().mkdirs()) {
+                throw new MavenImporterException("Unable to create directory " + archiveFile.getParentFile()
+                    + " for the archive of module " + key);
+            }
+            processor.getResultingArchive().as(ZipExporter.class).exportTo(archiveFile, true);
+            workspaceReader.addBuiltArchive(parsedPomFile, archiveFile);
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven.archive.importer;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
+import org.jboss.shrinkwrap.resolver.api.maven.PackagingType;
+import org.jboss.shrinkwrap.resolver.api.maven.pom.ParsedPomFile;
+
+/**
+ * {@link WorkspaceReader} providing the modules of a reactor, so a module resolves the modules it depends on from the
+ * archives built by the reactor instead of from the repositories. POM of a module is available as soon as the module is
+ * loaded, its archive once the module is built.
+ */
+final class ReactorWorkspaceReader implements WorkspaceReader {
+
+    private final WorkspaceRepository repository = new WorkspaceRepository("reactor");
+
+    private final Map<String, ParsedPomFile> poms = new ConcurrentHashMap<>();
+
+    private final Map<String, File> archives = new ConcurrentHashMap<>();
+
+    void addModule(ParsedPomFile parsedPomFile) {
+        poms.put(key(parsedPomFile.getGroupId(), parsedPomFile.getArtifactId()), parsedPomFile);
+    }
+
+    void addBuiltArchive(ParsedPomFile parsedPomFile, File archive) {
+        archives.put(key(parsedPomFile.getGroupId(), parsedPomFile.getArtifactId()), archive);
+    }
+
+    @Override
+    public WorkspaceRepository getRepository() {
+        return repository;
+    }
+
+    @Override
+    public File findArtifact(Artifact artifact) {
+        final String key = key(artifact.getGroupId(), artifact.getArtifactId());
+        final ParsedPomFile parsedPomFile = poms.get(key);
+        if (parsedPomFile == null || !parsedPomFile.getVersion().equals(artifact.getBaseVersion())
+            || !artifact.getClassifier().isEmpty()) {
+            return null;
+        }
+        if (PackagingType.POM.getExtension().equals(artifact.getExtension())) {
+            return parsedPomFile.getModel().getPomFile();
+        }
+        if (parsedPomFile.getPackagingType().getExtension().equals(artifact.getExtension())) {
+            return archives.get(key);
+        }
+        return null;
+    }
+
+    @Override
+    public List<String> findVersions(Artifact artifact) {
+        final ParsedPomFile parsedPomFile = poms.get(key(artifact.getGroupId(), artifact.getArtifactId()));
+        return parsedPomFile == null ? Collections.emptyList() : Collections.singletonList(parsedPomFile.getVersion());
+    }
+
+    private static String key(String groupId, String artifactId) {
+        return groupId + ":" + artifactId;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven.archive.packaging;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.Filter;
+import org.jboss.shrinkwrap.api.Filters;
+import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.MavenImporterException;
+
+/**
+ * Utils related to importing of build output into archives. Content is added as {@link PathAsset}s directly into the
+ * target archive, so no intermediate archive is created and files are read only when the archive is exported.
+ */
+public class ArchiveImportUtils {
+
+    /**
+     * Imports content of a directory into the archive.
+     *
+     * @param archive the archive to import into
+     * @param directory the directory to be imported
+     * @param target the path in the archive where the content of the directory is put
+     * @return the modified archive
+     * @throws IllegalArgumentException if the directory is not a directory
+     * @throws MavenImporterException if the directory cannot be read
+     */
+    public static <T extends Archive<?>> T importDirectory(T archive, File directory, String target) {
+        return importDirectory(archive, directory, target, Filters.includeAll());
+    }
+
+    /**
+     * Imports content of a directory into the archive.
+     *
+     * @param archive the archive to import into
+     * @param directory the directory to be imported
+     * @param target the path in the archive where the content of the directory is put
+     * @param filter the filter applied to paths relative to the directory
+     * @return the modified archive
+     * @throws IllegalArgumentException if the directory is not a directory
+     * @throws MavenImporterException if the directory cannot be read
+     */
+    public static <T extends Archive<?>> T importDirectory(final T archive, File directory, final String target,
+            final Filter<ArchivePath> filter) {
+        if (directory == null || !directory.isDirectory()) {
+            throw new IllegalArgumentException("Given file for import is not a directory: " + directory);
+        }
+
+        final Path root = directory.toPath();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(root)) {
+                        final ArchivePath path = relativePath(root, dir);
+                        if (filter.include(path)) {
+                            archive.addAsDirectory(ArchivePaths.create(target, path));
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    final ArchivePath path = relativePath(root, file);
+                    if (filter.include(path)) {
+                        archive.add(new PathAsset(file), ArchivePaths.create(target, path));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new MavenImporterException("Unable to import directory " + directory, e);
+        }
+        return archive;
+    }
+
+    private static ArchivePath relativePath(Path root, Path path) {
+        // paths in ShrinkWrap archives are always "/" separated
+        return ArchivePaths.create(root.relativize(path).toString().replace(File.separatorChar, '/'));
+    }
+}
@@ -20,7 +20,6 @@ import java.util.jar.Manifest;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
-import org.jboss.shrinkwrap.api.importer.ExplodedImporter;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.jboss.shrinkwrap.resolver.api.ResolutionException;
 import org.jboss.shrinkwrap.resolver.api.maven.MavenWorkingSession;
@@ -73,17 +72,14 @@ public class JarPackagingProcessor extends AbstractCompilingProcessor<JavaArchiv
             compile(pomFile.getSourceDirectory(), pomFile.getBuildOutputDirectory(), ScopeType.COMPILE, ScopeType.IMPORT,
                 ScopeType.PROVIDED, ScopeType.RUNTIME, ScopeType.SYSTEM);
 
-            JavaArchive classes = ShrinkWrap.create(ExplodedImporter.class, "sources.jar")
-                .importDirectory(pomFile.getBuildOutputDirectory()).as(JavaArchive.class);
-
-            archive = archive.merge(classes);
+            ArchiveImportUtils.importDirectory(archive, pomFile.getBuildOutputDirectory(), "/");
         }
 
         JarPluginConfiguration jarConfiguration = new JarPluginConfiguration(pomFile);
 
         // add resources
         for (Resource resource : pomFile.getResources()) {
-            archive.addAsResource(resource.getSource(), resource.getTargetPath());
+            archive.addAsResource(new PathAsset(resource.getSource().toPath()), resource.getTargetPath());
         }
 
         // set manifest
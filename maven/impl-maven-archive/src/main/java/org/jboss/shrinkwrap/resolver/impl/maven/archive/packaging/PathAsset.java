@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven.archive.packaging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.MavenImporterException;
+
+/**
+ * An {@link Asset} backed by a file on the disk. The file is not read until the archive is exported or its content is
+ * requested. The file is streamed, unless memory mapping of files bigger than a threshold is enabled.
+ * <p>
+ * A memory mapped file stays mapped until the mapping is garbage collected. On Windows a mapped file cannot be deleted
+ * or overwritten, so the build directories of the imported project could not be cleaned in the same JVM. Memory mapping
+ * is therefore disabled by default and never used on Windows.
+ * </p>
+ */
+public class PathAsset implements Asset {
+
+    /**
+     * System property defining the size in bytes starting from which files are memory mapped instead of streamed.
+     * Negative value, which is the default, disables memory mapping.
+     */
+    public static final String MMAP_THRESHOLD_KEY = "org.jboss.shrinkwrap.resolver.maven.importer.mmapThreshold";
+
+    private static final long DEFAULT_MMAP_THRESHOLD = -1;
+
+    private static final boolean MMAP_SUPPORTED = !System.getProperty("os.name", "").toLowerCase(Locale.ENGLISH)
+        .startsWith("windows");
+
+    private final Path path;
+    private final long mmapThreshold;
+
+    public PathAsset(Path path) {
+        this(path, Long.getLong(MMAP_THRESHOLD_KEY, DEFAULT_MMAP_THRESHOLD));
+    }
+
+    public PathAsset(Path path, long mmapThreshold) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path must be specified");
+        }
+        this.path = path;
+        this.mmapThreshold = mmapThreshold;
+    }
+
+    @Override
+    public InputStream openStream() {
+        try {
+            final long size = Files.size(path);
+            if (MMAP_SUPPORTED && mmapThreshold >= 0 && size >= mmapThreshold && size <= Integer.MAX_VALUE) {
+                // mapping stays valid after the channel is closed
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    return new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+                }
+            }
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            throw new MavenImporterException("Could not open file " + path, e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return PathAsset.class.getSimpleName() + " [path=" + path + "]";
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            final int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -17,9 +17,14 @@
 package org.jboss.shrinkwrap.resolver.impl.maven.archive.packaging;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.Manifest;
 
 import org.codehaus.plexus.util.DirectoryScanner;
@@ -27,13 +32,12 @@ import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Filter;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
-import org.jboss.shrinkwrap.api.importer.ExplodedImporter;
-import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.jboss.shrinkwrap.api.spec.WebArchive;
 import org.jboss.shrinkwrap.resolver.api.maven.MavenResolvedArtifact;
 import org.jboss.shrinkwrap.resolver.api.maven.MavenWorkingSession;
 import org.jboss.shrinkwrap.resolver.api.maven.PackagingType;
 import org.jboss.shrinkwrap.resolver.api.maven.ScopeType;
+import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.MavenImporterException;
 import org.jboss.shrinkwrap.resolver.api.maven.pom.ParsedPomFile;
 import org.jboss.shrinkwrap.resolver.api.maven.pom.Resource;
 import org.jboss.shrinkwrap.resolver.api.maven.strategy.MavenResolutionStrategy;
@@ -53,6 +57,12 @@ public class WarPackagingProcessor extends AbstractCompilingProcessor<WebArchive
 
     public static final String MAVEN_WAR_PLUGIN_KEY = "org.apache.maven.plugins:maven-war-plugin";
 
+    /**
+     * System property limiting the number of threads used to prepare WEB-INF/lib dependencies, defaults to the number of
+     * available processors. Value of 1 prepares libraries sequentially.
+     */
+    public static final String LIBRARY_THREADS_KEY = "org.jboss.shrinkwrap.resolver.maven.importer.libraryThreads";
+
     private WebArchive archive;
 
     @Override
@@ -87,31 +97,25 @@ public class WarPackagingProcessor extends AbstractCompilingProcessor<WebArchive
             compile(pomFile.getSourceDirectory(), pomFile.getBuildOutputDirectory(), ScopeType.COMPILE, ScopeType.IMPORT,
                 ScopeType.PROVIDED, ScopeType.RUNTIME, ScopeType.SYSTEM);
 
-            JavaArchive classes = ShrinkWrap.create(ExplodedImporter.class, "sources.jar")
-                .importDirectory(pomFile.getBuildOutputDirectory()).as(JavaArchive.class);
-
-            archive = archive.merge(classes, "WEB-INF/classes");
+            ArchiveImportUtils.importDirectory(archive, pomFile.getBuildOutputDirectory(), "WEB-INF/classes");
         }
 
         // add resources
         for (Resource resource : pomFile.getResources()) {
-            archive.addAsResource(resource.getSource(), resource.getTargetPath());
+            archive.addAsResource(new PathAsset(resource.getSource().toPath()), resource.getTargetPath());
         }
 
         WarPluginConfiguration warConfiguration = new WarPluginConfiguration(pomFile);
         if (Validate.isReadable(warConfiguration.getWarSourceDirectory())) {
-            WebArchive webapp = ShrinkWrap.create(ExplodedImporter.class, "webapp.war")
-                .importDirectory(warConfiguration.getWarSourceDirectory(), createFilter(warConfiguration))
-                .as(WebArchive.class);
-
-            archive = archive.merge(webapp);
+            ArchiveImportUtils.importDirectory(archive, warConfiguration.getWarSourceDirectory(), "/",
+                createFilter(warConfiguration));
         }
 
         // add dependencies
         AddAllDeclaredDependenciesTask.INSTANCE.execute(session);
         final Collection<MavenResolvedArtifact> artifacts = session.resolveDependencies(strategy);
-        for (MavenResolvedArtifact artifact : artifacts) {
-            archive.addAsLibrary(artifact.asFile());
+        for (File library : prepareLibraries(artifacts)) {
+            archive.addAsLibrary(library);
         }
 
         // set manifest
@@ -125,6 +129,64 @@ public class WarPackagingProcessor extends AbstractCompilingProcessor<WebArchive
         return this;
     }
 
+    /**
+     * Prepares files of the libraries to be added into WEB-INF/lib. Preparation, which includes packaging of workspace
+     * artifacts and validation of the files, runs concurrently on a bounded pool, while the returned list keeps the order
+     * of the artifacts so the archive content is deterministic.
+     *
+     * @param artifacts the resolved artifacts
+     * @return the library files, in the same order as the artifacts
+     * @throws MavenImporterException if any of the libraries cannot be prepared
+     */
+    protected List<File> prepareLibraries(Collection<MavenResolvedArtifact> artifacts) throws MavenImporterException {
+        final int threads = Math.min(artifacts.size(),
+            Math.max(1, Integer.getInteger(LIBRARY_THREADS_KEY, Runtime.getRuntime().availableProcessors())));
+
+        final List<File> libraries = new ArrayList<>(artifacts.size());
+        if (threads <= 1) {
+            for (MavenResolvedArtifact artifact : artifacts) {
+                libraries.add(prepareLibrary(artifact));
+            }
+            return libraries;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "shrinkwrap-resolver-war-libraries");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<File>> futures = new ArrayList<>(artifacts.size());
+            for (final MavenResolvedArtifact artifact : artifacts) {
+                futures.add(executor.submit(() -> prepareLibrary(artifact)));
+            }
+            for (Future<File> future : futures) {
+                libraries.add(future.get());
+            }
+            return libraries;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MavenImporterException("Interrupted while preparing libraries of " + archive.getName(), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new MavenImporterException("Unable to prepare libraries of " + archive.getName(), cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static File prepareLibrary(MavenResolvedArtifact artifact) throws MavenImporterException {
+        final File file = artifact.asFile();
+        if (!Validate.isReadable(file)) {
+            throw new MavenImporterException("Unable to add library " + artifact.getCoordinate().toCanonicalForm()
+                + " into WEB-INF/lib, file " + file + " is not readable");
+        }
+        return file;
+    }
+
     protected Filter<ArchivePath> createFilter(WarPluginConfiguration configuration) {
         final List<String> filesToIncludes = Arrays.asList(getFilesToIncludes(configuration.getWarSourceDirectory(),
             configuration.getIncludes(), configuration.getExcludes()));
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven.archive.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.MavenImporter;
+import org.jboss.shrinkwrap.resolver.impl.maven.archive.util.TestFileUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.jboss.shrinkwrap.resolver.impl.maven.archive.importer.ArchiveContentMatchers.contains;
+import static org.jboss.shrinkwrap.resolver.impl.maven.archive.importer.ArchiveContentMatchers.size;
+
+/**
+ * Multi-module import test case
+ */
+class ReactorMavenImporterTestCase {
+
+    private static final String JAR_MODULE = "org.jboss.shrinkwrap.resolver.test:shrinkwrap-resolver-impl-maven-test-jar-sample";
+    private static final String WAR_MODULE = "org.jboss.shrinkwrap.resolver.test:shrinkwrap-resolver-impl-maven-test-war-sample";
+    private static final String API_MODULE = "org.jboss.shrinkwrap.resolver.test:shrinkwrap-resolver-impl-maven-test-reactor-api";
+    private static final String WEB_MODULE = "org.jboss.shrinkwrap.resolver.test:shrinkwrap-resolver-impl-maven-test-reactor-web";
+
+    @BeforeEach
+    void cleanTarget() throws IOException {
+        TestFileUtil.removeDirectory(new File("src/it/jar-sample/target"));
+        TestFileUtil.removeDirectory(new File("src/it/war-sample/target"));
+        TestFileUtil.removeDirectory(new File("src/it/reactor-dependency-sample/api/target"));
+        TestFileUtil.removeDirectory(new File("src/it/reactor-dependency-sample/web/target"));
+    }
+
+    @Test
+    void importReactor() {
+        // When
+        final Map<String, Archive<?>> archives = ShrinkWrap.create(MavenImporter.class)
+            .loadReactorFromFile("src/it/reactor-sample/pom.xml")
+            .importBuildOutput()
+            .getArchives();
+
+        // Then
+        assertThat(archives.size(), is(2));
+        assertThat(archives.keySet(), hasItems(JAR_MODULE, WAR_MODULE));
+
+        final JavaArchive jar = archives.get(JAR_MODULE).as(JavaArchive.class);
+        assertThat(jar.getContent(), contains("main.properties"));
+        assertThat(jar.getContent(), not(contains("file.toExclude")));
+        assertThat(jar.getContent(), size(4));
+
+        final WebArchive war = archives.get(WAR_MODULE).as(WebArchive.class);
+        assertThat(war.getContent(), contains("WEB-INF/web.xml"));
+        assertThat(war.getContent(), contains("WEB-INF/classes/test/WarClass.class"));
+        assertThat(war.getContent(), size(7));
+    }
+
+    @Test
+    void importReactorModuleAs() {
+        // When
+        final WebArchive war = ShrinkWrap.create(MavenImporter.class)
+            .loadReactorFromFile(new File("src/it/reactor-sample/pom.xml"))
+            .importBuildOutput()
+            .as(WAR_MODULE, WebArchive.class);
+
+        // Then
+        assertThat(war.getContent(), contains("WEB-INF/web.xml"));
+    }
+
+    @Test
+    void importReactorWithDependentModule() throws IOException {
+        // When
+        final Map<String, Archive<?>> archives = ShrinkWrap.create(MavenImporter.class)
+            .loadReactorFromFile("src/it/reactor-dependency-sample/pom.xml")
+            .importBuildOutput()
+            .getArchives();
+
+        // Then
+        // archives are returned in build order, web module is listed first but depends on api module
+        assertThat(new ArrayList<>(archives.keySet()), is(Arrays.asList(API_MODULE, WEB_MODULE)));
+
+        final JavaArchive api = archives.get(API_MODULE).as(JavaArchive.class);
+        assertThat(api.getContent(), contains("test/api/Greeter.class"));
+
+        // web module was compiled against the api archive built by the reactor, which is not in any repository
+        final WebArchive web = archives.get(WEB_MODULE).as(WebArchive.class);
+        assertThat(web.getContent(), contains("WEB-INF/classes/test/web/WebGreeter.class"));
+        assertThat(web.getContent(), contains("WEB-INF/lib/reactor-api.jar"));
+
+        final JavaArchive library;
+        try (InputStream libraryStream = web.get("WEB-INF/lib/reactor-api.jar").getAsset().openStream()) {
+            library = ShrinkWrap.create(ZipImporter.class, "reactor-api.jar").importFrom(libraryStream)
+                .as(JavaArchive.class);
+        }
+        assertThat(library.getContent(), contains("test/api/Greeter.class"));
+    }
+}
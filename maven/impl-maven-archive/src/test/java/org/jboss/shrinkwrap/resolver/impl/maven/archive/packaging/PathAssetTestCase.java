@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven.archive.packaging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test of file backed assets
+ */
+class PathAssetTestCase {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamedAndMappedContentIsEqual() throws IOException {
+        final byte[] content = new byte[64 * 1024 + 7];
+        new Random(42).nextBytes(content);
+        final Path file = Files.write(tempDir.resolve("content.bin"), content);
+
+        Assertions.assertArrayEquals(content, read(new PathAsset(file, -1)), "Streamed content matches the file");
+        Assertions.assertArrayEquals(content, read(new PathAsset(file, 0)), "Mapped content matches the file");
+    }
+
+    @Test
+    void fileIsReadLazily() throws IOException {
+        final Path file = tempDir.resolve("lazy.txt");
+        final PathAsset asset = new PathAsset(file);
+
+        // file is created after the asset
+        Files.write(file, "lazy".getBytes("UTF-8"));
+
+        Assertions.assertEquals("lazy", new String(read(asset), "UTF-8"));
+    }
+
+    private static byte[] read(PathAsset asset) throws IOException {
+        try (InputStream is = asset.openStream(); ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                os.write(buffer, 0, read);
+            }
+            return os.toByteArray();
+        }
+    }
+}
@@ -1,89 +1,262 @@
 package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
-import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
+import org.apache.commons.codec.digest.DigestUtils;
 
 public class BinaryDownloader {
 
+    /**
+     * The maximal number of connections a single distribution is downloaded with.
+     */
+    public static final String CONNECTIONS_KEY = "org.jboss.shrinkwrap.resolver.maven.embedded.downloadConnections";
+
+    private static final int DEFAULT_CONNECTIONS = 4;
+    private static final long MIN_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final int TIMEOUT = 30000;
+    private static final int NUMBER_OF_ATTEMPTS = 3;
+
     private final Logger log = Logger.getLogger(BinaryDownloader.class.getName());
     private final String target;
     private final MarkerFileHandler markerFileHandler;
     private final URL mavenDistribution;
+    private final int connections;
+    private final long minSegmentSize;
 
-    private BinaryDownloader(File mavenDir, URL mavenDistribution) {
+    private BinaryDownloader(File mavenDir, URL mavenDistribution, int connections, long minSegmentSize) {
         String distUrl = mavenDistribution.toString();
         this.mavenDistribution = mavenDistribution;
+        this.connections = Math.max(1, connections);
+        this.minSegmentSize = minSegmentSize;
         target = new File(mavenDir, distUrl.substring(distUrl.lastIndexOf("/"))).getAbsolutePath();
         markerFileHandler = new MarkerFileHandler(mavenDir, new File(target).getName() + "-downloadProcess.tmp");
     }
 
     static File download(File mavenDir, URL mavenDistribution) {
-        return new BinaryDownloader(mavenDir, mavenDistribution).download();
+        return download(mavenDir, mavenDistribution, Integer.getInteger(CONNECTIONS_KEY, DEFAULT_CONNECTIONS),
+            MIN_SEGMENT_SIZE);
+    }
+
+    static File download(File mavenDir, URL mavenDistribution, int connections, long minSegmentSize) {
+        return new BinaryDownloader(mavenDir, mavenDistribution, connections, minSegmentSize).download();
     }
 
     private File download() {
         File downloaded = checkIfItIsAlreadyDownloaded();
-        if (downloaded == null) {
-            markerFileHandler.createMarkerFile();
+        if (downloaded != null) {
+            return downloaded;
+        }
+        markerFileHandler.createMarkerFile();
+        try {
             URL redirectedMavenDistribution = checkForRedirect(mavenDistribution);
-            int numberOfAttempts = 3;
-            long expectedSize = getExpectedSize(redirectedMavenDistribution, numberOfAttempts);
-            int remainingAttempts = numberOfAttempts;
-            for (int i = 0; i < numberOfAttempts; i++) {
+            RemoteFile remoteFile = getRemoteFile(redirectedMavenDistribution);
+            String expectedSha512 = getExpectedSha512(redirectedMavenDistribution);
+            System.out.println("Resolver: downloading Maven binaries from " + redirectedMavenDistribution + " to " + target);
+
+            int remainingAttempts = NUMBER_OF_ATTEMPTS;
+            for (int i = 0; i < NUMBER_OF_ATTEMPTS; i++) {
                 remainingAttempts--;
                 try {
-                    downloaded = runDownloadExecution(redirectedMavenDistribution, target);
-                    if (downloaded != null && (downloaded.length() == expectedSize || expectedSize == -1)) {
-                        markerFileHandler.deleteMarkerFile();
-                        return downloaded;
-                    }
-                    else {
-                        throw new IOException("An error occurred during download.");
-                    }
+                    List<Segment> segments = getSegments(remoteFile);
+                    downloadSegments(redirectedMavenDistribution, remoteFile, segments);
+                    File part = joinSegments(segments);
+                    verify(part, remoteFile.size, expectedSha512);
+                    return moveToTarget(part);
                 } catch (IOException e) {
-                    System.err.print("ERROR: the downloading of Maven binaries has failed. ");
+                    // the segments that have been completed are kept, so the next attempt continues where this one stopped
+                    System.err.print("ERROR: the downloading of Maven binaries has failed: " + e.getMessage() + ". ");
                     if (remainingAttempts > 0) {
                         System.err.println("Trying again - number of remaining attempts: " + (remainingAttempts));
                     } else {
                         System.err.println("For more information see the stacktrace of an exception");
-                        markerFileHandler.deleteMarkerFile();
                         throw new IllegalStateException(e);
                     }
                 }
             }
-            markerFileHandler.deleteMarkerFile();
             throw new IllegalStateException("Unable to download Maven binaries");
+        } finally {
+            markerFileHandler.deleteMarkerFile();
         }
-        return downloaded;
     }
 
-    private File runDownloadExecution(URL mavenDistribution, String target) throws IOException {
-        System.out.println("Resolver: downloading Maven binaries from " + mavenDistribution + " to " + target);
-        try (ReadableByteChannel readableByteChannel = Channels.newChannel(mavenDistribution.openStream());
-             FileOutputStream fileOutputStream = new FileOutputStream(target);
-             FileChannel fileChannel = fileOutputStream.getChannel()) {
-            fileChannel.transferFrom(readableByteChannel, 0, Long.MAX_VALUE);
+    private List<Segment> getSegments(RemoteFile remoteFile) {
+        final List<Segment> segments = new ArrayList<>();
+        int numberOfSegments = 1;
+        if (remoteFile.acceptsRanges && remoteFile.size > 0) {
+            numberOfSegments = (int) Math.max(1, Math.min(connections, remoteFile.size / minSegmentSize));
         }
-        File downloadedFile = Paths.get(target).toFile();
-        if (downloadedFile.exists() & downloadedFile.length() > 0) {
-            return downloadedFile;
+        if (numberOfSegments == 1) {
+            segments.add(new Segment(0, remoteFile.size > 0 ? remoteFile.size - 1 : -1));
+        } else {
+            long segmentSize = remoteFile.size / numberOfSegments;
+            for (int i = 0; i < numberOfSegments; i++) {
+                long end = i == numberOfSegments - 1 ? remoteFile.size - 1 : (i + 1) * segmentSize - 1;
+                segments.add(new Segment(i * segmentSize, end));
+            }
+        }
+        return segments;
+    }
+
+    private void downloadSegments(URL url, RemoteFile remoteFile, List<Segment> segments) throws IOException {
+        if (segments.size() == 1) {
+            downloadSegment(url, remoteFile.acceptsRanges, segments.get(0));
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(segments.size(), runnable -> {
+            Thread thread = new Thread(runnable, "resolver-maven-download");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<Void>> futures = new ArrayList<>(segments.size());
+            for (Segment segment : segments) {
+                futures.add(executor.submit(() -> {
+                    downloadSegment(url, true, segment);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The downloading of Maven binaries has been interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void downloadSegment(URL url, boolean acceptsRanges, Segment segment) throws IOException {
+        long downloaded = segment.file.exists() ? segment.file.length() : 0;
+        if (downloaded > 0 && (!acceptsRanges || (segment.length() >= 0 && downloaded > segment.length()))) {
+            Files.delete(segment.file.toPath());
+            downloaded = 0;
+        }
+        if (segment.length() >= 0 && downloaded == segment.length()) {
+            return;
+        }
+
+        final long from = segment.start + downloaded;
+        final HttpURLConnection connection = openConnection(url);
+        try {
+            if (acceptsRanges) {
+                connection.setRequestProperty("Range", "bytes=" + from + "-" + (segment.end >= 0 ? segment.end : ""));
+            }
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_OK && from > 0) {
+                throw new IOException("The server hasn't accepted the range request for " + url);
+            } else if (responseCode != HttpURLConnection.HTTP_OK && responseCode != HttpURLConnection.HTTP_PARTIAL) {
+                throw new IOException("Unexpected response code " + responseCode + " for " + url);
+            }
+            try (InputStream inputStream = connection.getInputStream();
+                 FileOutputStream outputStream = new FileOutputStream(segment.file, downloaded > 0)) {
+                byte[] buffer = new byte[64 * 1024];
+                int len;
+                while ((len = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, len);
+                }
+            }
+        } finally {
+            connection.disconnect();
+        }
+        if (segment.length() >= 0 && segment.file.length() != segment.length()) {
+            throw new IOException("The connection has been closed after " + segment.file.length() + " of "
+                + segment.length() + " bytes");
+        }
+    }
+
+    private File joinSegments(List<Segment> segments) throws IOException {
+        if (segments.size() == 1) {
+            return segments.get(0).file;
+        }
+        final File part = new File(target + ".part");
+        try (FileChannel output = new FileOutputStream(part).getChannel()) {
+            for (Segment segment : segments) {
+                try (FileChannel input = new FileInputStream(segment.file).getChannel()) {
+                    long position = 0;
+                    long size = input.size();
+                    while (position < size) {
+                        position += input.transferTo(position, size - position, output);
+                    }
+                }
+            }
+        }
+        for (Segment segment : segments) {
+            Files.delete(segment.file.toPath());
+        }
+        return part;
+    }
+
+    private void verify(File part, long expectedSize, String expectedSha512) throws IOException {
+        String problem = null;
+        if (expectedSize >= 0 && part.length() != expectedSize) {
+            problem = "The size of the downloaded file " + part.length() + " doesn't match the expected " + expectedSize;
+        } else if (expectedSha512 != null) {
+            try (FileInputStream inputStream = new FileInputStream(part)) {
+                String sha512 = DigestUtils.sha512Hex(inputStream);
+                if (!sha512.equalsIgnoreCase(expectedSha512)) {
+                    problem = "The SHA-512 checksum of the downloaded file " + sha512
+                        + " doesn't match the published one " + expectedSha512;
+                }
+            }
+        } else if (part.length() == 0) {
+            problem = "The downloaded file is empty";
+        }
+        if (problem != null) {
+            // corrupted content can't be resumed
+            Files.delete(part.toPath());
+            throw new IOException(problem);
         }
-        return null;
+    }
+
+    private File moveToTarget(File part) throws IOException {
+        try {
+            Files.move(part.toPath(), Paths.get(target), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(part.toPath(), Paths.get(target), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return new File(target);
+    }
+
+    private HttpURLConnection openConnection(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        // a stalled connection fails fast and is resumed by the next attempt
+        connection.setConnectTimeout(TIMEOUT);
+        connection.setReadTimeout(TIMEOUT);
+        return connection;
     }
 
     private URL checkForRedirect(URL url) {
         try {
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            HttpURLConnection connection = openConnection(url);
+            connection.setRequestMethod("HEAD");
             int responseCode = connection.getResponseCode();
+            connection.disconnect();
             if (responseCode > 300 && responseCode < 400) {
                 String redirectLocation = connection.getHeaderField("Location");
                 if (redirectLocation == null || redirectLocation.isEmpty()) {
@@ -98,34 +271,66 @@ public class BinaryDownloader {
         }
     }
 
-    private long getExpectedSize(URL url, int numberOfAttempts) {
-        long expectedSize;
-        int remainingAttempts = numberOfAttempts;
-        for (int i = 0; i < numberOfAttempts; i++) {
+    private RemoteFile getRemoteFile(URL url) {
+        int remainingAttempts = NUMBER_OF_ATTEMPTS;
+        for (int i = 0; i < NUMBER_OF_ATTEMPTS; i++) {
             remainingAttempts--;
             try {
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                HttpURLConnection connection = openConnection(url);
                 connection.setRequestMethod("HEAD");
-                expectedSize = connection.getContentLengthLong();
+                long expectedSize = connection.getContentLengthLong();
+                boolean acceptsRanges = "bytes".equalsIgnoreCase(connection.getHeaderField("Accept-Ranges"));
                 connection.disconnect();
 
                 if (expectedSize == 0) {
                     throw new IOException("Expected size of the download cannot be zero.");
                 }
 
-                return expectedSize; // Exit the loop if successful
+                return new RemoteFile(expectedSize, acceptsRanges); // Exit the loop if successful
             } catch (IOException e) {
                 System.err.print("ERROR: Unable to fetch expected size. ");
                 if (remainingAttempts > 0) {
                     System.err.println("Retrying - number of remaining attempts: " + (remainingAttempts));
                 } else {
-                    System.err.println("Giving up after " + numberOfAttempts + " attempts.");
-                    markerFileHandler.deleteMarkerFile();
-                    throw new IllegalStateException("Unable to determine expected size after " + numberOfAttempts + " attempts", e);
+                    System.err.println("Giving up after " + NUMBER_OF_ATTEMPTS + " attempts.");
+                    throw new IllegalStateException("Unable to determine expected size after " + NUMBER_OF_ATTEMPTS + " attempts", e);
+                }
+            }
+        }
+        return new RemoteFile(-1, false);
+    }
+
+    /**
+     * Returns the checksum published next to the file (as Apache does for all distributions), or {@code null} if
+     * there is none - then only the size of the downloaded file is verified.
+     */
+    private String getExpectedSha512(URL url) {
+        HttpURLConnection connection = null;
+        try {
+            connection = openConnection(new URL(url.toString() + ".sha512"));
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                return null;
+            }
+            try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(connection.getInputStream(), StandardCharsets.US_ASCII))) {
+                String line = reader.readLine();
+                if (line != null) {
+                    // the file contains either only the checksum or the checksum followed by the file name
+                    String checksum = line.trim().split("\\s+")[0];
+                    if (checksum.matches("[0-9a-fA-F]{128}")) {
+                        return checksum;
+                    }
                 }
             }
+            log.warning("The published SHA-512 checksum of " + url + " has an unexpected format, it won't be verified");
+        } catch (IOException e) {
+            log.warning("Unable to fetch the SHA-512 checksum of " + url + ", it won't be verified: " + e.getMessage());
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
         }
-        return -1;
+        return null;
     }
 
     private File checkIfItIsAlreadyDownloaded() {
@@ -139,7 +344,7 @@ public class BinaryDownloader {
         boolean fileIsStillPresent = markerFileHandler.waitTillMarkerFileIsGone(60000, "download");
         if (fileIsStillPresent) {
             try {
-                Files.delete(Paths.get(target));
+                Files.deleteIfExists(Paths.get(target));
                 markerFileHandler.deleteMarkerFile();
                 return false;
             } catch (IOException e) {
@@ -148,4 +353,33 @@ public class BinaryDownloader {
         }
         return true;
     }
+
+    private static class RemoteFile {
+        private final long size;
+        private final boolean acceptsRanges;
+
+        RemoteFile(long size, boolean acceptsRanges) {
+            this.size = size;
+            this.acceptsRanges = acceptsRanges;
+        }
+    }
+
+    /**
+     * A range of the remote file downloaded into its own part file, so it can be resumed independently of the others.
+     */
+    private class Segment {
+        private final long start;
+        private final long end;
+        private final File file;
+
+        Segment(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.file = new File(target + "." + start + "-" + end + ".part");
+        }
+
+        long length() {
+            return end >= 0 ? end - start + 1 : -1;
+        }
+    }
 }
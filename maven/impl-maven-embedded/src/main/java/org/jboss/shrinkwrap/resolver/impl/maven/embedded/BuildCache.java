@@ -0,0 +1,260 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.shared.invoker.InvocationRequest;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuiltProject;
+
+/**
+ * Cache of the result of the last successful build of a project. The result is identified by a fingerprint of the
+ * build configuration and of all files of the project directory except for the build directories (named
+ * {@code target}) and hidden files; the files are represented by their path, size and time of the last modification.
+ * <p>
+ * The result is stored in the target directory of the project together with the files the build left in the target
+ * directories of the project and its modules, and with the default built archives of all modules, wherever their build
+ * directories are. The result is up to date only as long as these files are unchanged. Modules located outside of the
+ * project directory are not covered by the fingerprint.
+ * </p>
+ */
+class BuildCache {
+
+    private static final String TARGET_DIR = "target";
+    private static final String CACHE_FILE = "resolver-build-cache.properties";
+    private static final String LOG_FILE = "resolver-build-cache.log";
+    private static final String FINGERPRINT_KEY = "fingerprint";
+    private static final String OUTPUT_KEY_PREFIX = "output.";
+    private static final String ARCHIVE_KEY_PREFIX = "archive.";
+    private static final String MISSING = "missing";
+
+    private final Logger log = Logger.getLogger(BuildCache.class.getName());
+    private final Path projectDir;
+    private final Path cacheFile;
+    private final Path logFile;
+
+    BuildCache(File pomFile) {
+        this.projectDir = pomFile.getAbsoluteFile().getParentFile().toPath();
+        this.cacheFile = projectDir.resolve(TARGET_DIR).resolve(CACHE_FILE);
+        this.logFile = projectDir.resolve(TARGET_DIR).resolve(LOG_FILE);
+    }
+
+    /**
+     * Returns the fingerprint of the build, or {@code null} if the project files couldn't be read.
+     */
+    String fingerprint(InvocationRequest request) {
+        final StringBuilder configuration = new StringBuilder();
+        append(configuration, "pom", request.getPomFile());
+        append(configuration, "baseDirectory", request.getBaseDirectory());
+        append(configuration, "goals", request.getGoals());
+        append(configuration, "profiles", request.getProfiles());
+        if (request.getProperties() != null) {
+            for (Map.Entry<String, String> property : toMap(request.getProperties()).entrySet()) {
+                append(configuration, "property." + property.getKey(), property.getValue());
+            }
+        }
+        append(configuration, "mavenHome", request.getMavenHome());
+        append(configuration, "mavenExecutable", request.getMavenExecutable());
+        append(configuration, "mavenOpts", request.getMavenOpts());
+        append(configuration, "javaHome", request.getJavaHome());
+        append(configuration, "globalSettings", request.getGlobalSettingsFile());
+        append(configuration, "userSettings", request.getUserSettingsFile());
+        append(configuration, "offline", request.isOffline());
+        append(configuration, "recursive", request.isRecursive());
+        append(configuration, "projects", request.getProjects());
+        append(configuration, "alsoMake", request.isAlsoMake());
+        append(configuration, "alsoMakeDependents", request.isAlsoMakeDependents());
+        append(configuration, "resumeFrom", request.getResumeFrom());
+        append(configuration, "threads", request.getThreads());
+        return fingerprint(configuration.toString());
+    }
+
+    String fingerprint(String configuration) {
+        final StringBuilder content = new StringBuilder(configuration);
+        try {
+            Files.walkFileTree(projectDir, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(projectDir) && isExcluded(dir)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && !file.getFileName().toString().startsWith(".")) {
+                        append(content, projectDir.relativize(file).toString().replace(File.separatorChar, '/'),
+                            describe(attrs));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.warning("Unable to compute the fingerprint of the project " + projectDir + ", it will be built: "
+                + e.getMessage());
+            return null;
+        }
+        return DigestUtils.sha256Hex(content.toString());
+    }
+
+    /**
+     * Returns {@code true} if the last successful build has the given fingerprint and the files it left in the target
+     * directories, as well as the default built archives of the project and its modules, are unchanged.
+     */
+    boolean isUpToDate(String fingerprint, BuiltProject builtProject) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return false;
+        }
+        final Properties stored = new Properties();
+        try (InputStream inputStream = Files.newInputStream(cacheFile)) {
+            stored.load(inputStream);
+            if (!fingerprint.equals(stored.getProperty(FINGERPRINT_KEY))) {
+                return false;
+            }
+            return stored.equals(toProperties(fingerprint, collectOutputs(), collectArchives(builtProject)));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warning("Unable to read the cached build result " + cacheFile + ", the project will be built: "
+                + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the log of the cached build, or {@code null} if no log has been stored.
+     */
+    String getMavenLog() {
+        try {
+            return Files.isRegularFile(logFile) ? new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            log.warning("Unable to read the cached build log " + logFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the result of a successful build with the given fingerprint.
+     */
+    void store(String fingerprint, BuiltProject builtProject) {
+        final String mavenLog = builtProject.getMavenLog();
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Files.deleteIfExists(cacheFile);
+            Files.deleteIfExists(logFile);
+            if (mavenLog != null) {
+                Files.write(logFile, mavenLog.getBytes(StandardCharsets.UTF_8));
+            }
+            final Path temporary = Files.createTempFile(cacheFile.getParent(), CACHE_FILE, ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(temporary)) {
+                toProperties(fingerprint, collectOutputs(), collectArchives(builtProject)).store(outputStream, "Result of the last successful build");
+            }
+            try {
+                Files.move(temporary, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warning("Unable to store the result of the build in " + cacheFile + ": " + e.getMessage());
+        }
+    }
+
+    private Map<String, String> collectOutputs() throws IOException {
+        final Map<String, String> outputs = new TreeMap<>();
+        Files.walkFileTree(projectDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (dir.equals(projectDir)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (TARGET_DIR.equals(dir.getFileName().toString())) {
+                    collectTargetFiles(dir, outputs);
+                }
+                return isExcluded(dir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+        });
+        return outputs;
+    }
+
+    private Map<String, String> collectArchives(BuiltProject builtProject) throws IOException {
+        final Map<String, String> archives = new TreeMap<>();
+        collectArchives(builtProject, archives);
+        return archives;
+    }
+
+    private void collectArchives(BuiltProject builtProject, Map<String, String> archives) throws IOException {
+        final File archive = builtProject.getDefaultBuiltArchiveFile();
+        if (archive != null) {
+            final Path archivePath = archive.getAbsoluteFile().toPath();
+            final String key = archivePath.startsWith(projectDir) ? projectDir.relativize(archivePath).toString()
+                : archivePath.toString();
+            archives.put(key.replace(File.separatorChar, '/'), archive.isFile()
+                ? describe(Files.readAttributes(archivePath, BasicFileAttributes.class)) : MISSING);
+        }
+        for (BuiltProject module : builtProject.getModules()) {
+            collectArchives(module, archives);
+        }
+    }
+
+    private void collectTargetFiles(Path targetDir, Map<String, String> outputs) throws IOException {
+        for (File file : listFiles(targetDir)) {
+            final String name = file.getName();
+            if (file.isFile() && !CACHE_FILE.equals(name) && !LOG_FILE.equals(name) && !name.endsWith(".tmp")) {
+                final BasicFileAttributes attrs = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+                outputs.put(projectDir.relativize(file.toPath()).toString().replace(File.separatorChar, '/'),
+                    describe(attrs));
+            }
+        }
+    }
+
+    private static File[] listFiles(Path dir) {
+        final File[] files = dir.toFile().listFiles();
+        return files != null ? files : new File[0];
+    }
+
+    private static boolean isExcluded(Path dir) {
+        final String name = dir.getFileName().toString();
+        return TARGET_DIR.equals(name) || name.startsWith(".");
+    }
+
+    private static Properties toProperties(String fingerprint, Map<String, String> outputs,
+        Map<String, String> archives) {
+        final Properties properties = new Properties();
+        properties.setProperty(FINGERPRINT_KEY, fingerprint);
+        for (Map.Entry<String, String> output : outputs.entrySet()) {
+            properties.setProperty(OUTPUT_KEY_PREFIX + output.getKey(), output.getValue());
+        }
+        for (Map.Entry<String, String> archive : archives.entrySet()) {
+            properties.setProperty(ARCHIVE_KEY_PREFIX + archive.getKey(), archive.getValue());
+        }
+        return properties;
+    }
+
+    private static Map<String, String> toMap(Properties properties) {
+        final Map<String, String> map = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            map.put(name, properties.getProperty(name));
+        }
+        return map;
+    }
+
+    private static String describe(BasicFileAttributes attrs) {
+        return attrs.size() + ":" + attrs.lastModifiedTime().toMillis();
+    }
+
+    private static void append(StringBuilder builder, String key, Object value) {
+        builder.append(key).append('=').append(value).append('\n');
+    }
+}
@@ -1,12 +1,18 @@
 package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 import org.apache.maven.shared.invoker.InvocationRequest;
 import org.apache.maven.shared.invoker.Invoker;
+import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuildEvent;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuildStage;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuiltProject;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.StandardBuilder;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.daemon.DaemonBuildTrigger;
 import org.jboss.shrinkwrap.resolver.impl.maven.embedded.daemon.DaemonBuildTriggerImpl;
+import org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped.OutputPipeline;
 
 /**
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
@@ -15,6 +21,8 @@ public abstract class BuildStageImpl<NEXT_STEP extends BuildStage<DAEMON_TRIGGER
     extends DistributionStageImpl<NEXT_STEP, DAEMON_TRIGGER_TYPE> implements BuildStage<DAEMON_TRIGGER_TYPE> {
 
     private boolean ignoreFailure = false;
+    private boolean useBuildCache = false;
+    private final List<Consumer<BuildEvent>> buildEventListeners = new ArrayList<>();
 
     @Override
     public BuiltProject build() {
@@ -32,6 +40,19 @@ public abstract class BuildStageImpl<NEXT_STEP extends BuildStage<DAEMON_TRIGGER
         return ignoreFailure(true);
     }
 
+    @Override
+    public StandardBuilder useBuildCache(boolean useBuildCache) {
+        this.useBuildCache = useBuildCache;
+        return this;
+    }
+
+    @Override
+    public BuildStage<DAEMON_TRIGGER_TYPE> addBuildEventListener(Consumer<BuildEvent> listener) {
+        Validate.notNull(listener, "Build event listener can not be null!");
+        buildEventListeners.add(listener);
+        return this;
+    }
+
     @Override
     public DAEMON_TRIGGER_TYPE useAsDaemon() {
         return (DAEMON_TRIGGER_TYPE) new DaemonBuildTriggerImpl(createBuildTrigger());
@@ -45,16 +66,18 @@ public abstract class BuildStageImpl<NEXT_STEP extends BuildStage<DAEMON_TRIGGER
             getSetMavenInstallation(),
             getInvocationRequest(),
             getInvoker(),
-            getLogBuffer(),
+            getOutputPipeline(),
             isQuiet(),
-            ignoreFailure);
+            ignoreFailure,
+            useBuildCache,
+            buildEventListeners);
     }
 
     protected abstract InvocationRequest getInvocationRequest();
 
     protected abstract Invoker getInvoker();
 
-    protected abstract StringBuffer getLogBuffer();
+    protected abstract OutputPipeline getOutputPipeline();
 
     protected abstract boolean isQuiet();
 }
@@ -1,43 +1,62 @@
 package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import org.apache.maven.shared.invoker.InvocationRequest;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.apache.maven.shared.invoker.Invoker;
 import org.apache.maven.shared.invoker.MavenInvocationException;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuildEvent;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuiltProject;
+import org.jboss.shrinkwrap.resolver.impl.maven.embedded.event.BuildEventReceiver;
+import org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped.OutputPipeline;
 import org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped.ResolverErrorOutputHandler;
 import org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped.ResolverOutputHandler;
 
 public class BuildTrigger {
 
-    private final String SAX_PARSER_FACTORY_KEY = "javax.xml.parsers.SAXParserFactory";
+    private static final String SAX_PARSER_FACTORY_KEY = "javax.xml.parsers.SAXParserFactory";
+    // the SAX parser factory property is JVM wide, so it is removed by the first of the concurrently running builds
+    // and set back by the last one
+    private static final Object SAX_PARSER_FACTORY_LOCK = new Object();
+    private static int runningBuilds;
+    private static String saxParserFactory;
+
     private final Logger log = Logger.getLogger(BuildStageImpl.class.getName());
     private final boolean ignoreFailure;
     private final File mavenInstallation;
     private final InvocationRequest invocationRequest;
     private final Invoker invoker;
-    private final StringBuffer logBuffer;
+    private final OutputPipeline outputPipeline;
     private final boolean quiet;
+    private final boolean useBuildCache;
+    private final List<Consumer<BuildEvent>> buildEventListeners;
 
     public BuildTrigger(File mavenInstallation, InvocationRequest invocationRequest, Invoker invoker,
-        StringBuffer logBuffer, boolean quiet, boolean ignoreFailure) {
+        OutputPipeline outputPipeline, boolean quiet, boolean ignoreFailure, boolean useBuildCache,
+        List<Consumer<BuildEvent>> buildEventListeners) {
         this.mavenInstallation = mavenInstallation;
         this.invocationRequest = invocationRequest;
         this.invoker = invoker;
-        this.logBuffer = logBuffer;
+        this.outputPipeline = outputPipeline;
         this.quiet = quiet;
         this.ignoreFailure = ignoreFailure;
+        this.useBuildCache = useBuildCache;
+        this.buildEventListeners = new ArrayList<>(buildEventListeners);
     }
 
     private void setOutputHandlers(String expectedRegex, CountDownLatch countDownLatch) {
-        if (logBuffer != null) {
+        if (outputPipeline != null) {
             ResolverErrorOutputHandler errorOutputHandler =
-                new ResolverErrorOutputHandler(logBuffer, expectedRegex, countDownLatch);
-            ResolverOutputHandler outputHandler = new ResolverOutputHandler(logBuffer, expectedRegex, countDownLatch);
+                new ResolverErrorOutputHandler(outputPipeline, expectedRegex, countDownLatch);
+            ResolverOutputHandler outputHandler =
+                new ResolverOutputHandler(outputPipeline, expectedRegex, countDownLatch);
 
             invocationRequest.setOutputHandler(outputHandler);
             invocationRequest.setErrorHandler(errorOutputHandler);
@@ -48,16 +67,29 @@ public class BuildTrigger {
     }
 
     public BuiltProject build(String expectedRegex, CountDownLatch countDownLatch) {
-        final String oldValue = removeSAXParserFactoryProperty();
-
         if (mavenInstallation != null) {
             invocationRequest.setMavenHome(mavenInstallation);
         }
 
+        // only the standard builds are cached, the daemon builds are expected to keep running
+        final BuildCache buildCache = useBuildCache && expectedRegex == null ? new BuildCache(getPomFile()) : null;
+        final String fingerprint = buildCache != null ? buildCache.fingerprint(invocationRequest) : null;
+        if (fingerprint != null) {
+            BuiltProjectImpl cachedProject = createBuiltProject();
+            if (buildCache.isUpToDate(fingerprint, cachedProject)) {
+                printStatus("skipped as up to date");
+                cachedProject.setMavenLog(buildCache.getMavenLog());
+                return cachedProject;
+            }
+        }
+
         setOutputHandlers(expectedRegex, countDownLatch);
 
         InvocationResult result = null;
+        BuildEventReceiver buildEventReceiver = null;
+        removeSAXParserFactoryProperty();
         try {
+            buildEventReceiver = startBuildEventReceiver();
 
             printStatus("started");
 
@@ -75,11 +107,44 @@ public class BuildTrigger {
         } catch (MavenInvocationException e) {
             throw new IllegalStateException("Execution of a Maven build has failed", e);
         } finally {
+            if (outputPipeline != null) {
+                outputPipeline.flush();
+            }
+            if (buildEventReceiver != null) {
+                buildEventReceiver.close();
+            }
             printStatus("stopped");
+            setSAXParserFactoryProperty();
         }
-        setSAXParserFactoryProperty(oldValue);
 
-        return getBuiltProject(result);
+        BuiltProject builtProject = getBuiltProject(result);
+        if (fingerprint != null && result != null && result.getExitCode() == 0) {
+            buildCache.store(fingerprint, builtProject);
+        }
+        return builtProject;
+    }
+
+    private BuildEventReceiver startBuildEventReceiver() {
+        if (buildEventListeners.isEmpty()) {
+            return null;
+        }
+        BuildEventReceiver buildEventReceiver = null;
+        try {
+            buildEventReceiver = new BuildEventReceiver(buildEventListeners);
+            Properties properties = invocationRequest.getProperties();
+            if (properties == null) {
+                properties = new Properties();
+                invocationRequest.setProperties(properties);
+            }
+            buildEventReceiver.configure(properties);
+            return buildEventReceiver;
+        } catch (IOException e) {
+            log.warning("The build events can't be received, the build continues without them: " + e.getMessage());
+            if (buildEventReceiver != null) {
+                buildEventReceiver.close();
+            }
+            return null;
+        }
     }
 
     private void printStatus(String status) {
@@ -102,25 +167,17 @@ public class BuildTrigger {
         for (int i = 0; i < projectPom.length(); i++) {
             borders.append("=");
         }
-        System.out.println(borders);
-        System.out.println("===   Embedded Maven build " + status + ": " + projectPom + "   ===");
-        System.out.println(borders);
+        // printed at once so that the status of builds running in parallel is not interleaved
+        System.out.println(borders + System.lineSeparator()
+            + "===   Embedded Maven build " + status + ": " + projectPom + "   ===" + System.lineSeparator()
+            + borders);
     }
 
     private BuiltProject getBuiltProject(InvocationResult result) {
-        File pomFile = invocationRequest.getPomFile();
-        if (pomFile == null) {
-            pomFile = new File(invocationRequest.getBaseDirectory() + File.separator + "pom.xml");
-        }
-        BuiltProjectImpl builtProject = new BuiltProjectImpl(
-            pomFile,
-            invocationRequest.getGlobalSettingsFile(),
-            invocationRequest.getUserSettingsFile(),
-            invocationRequest.getProperties(),
-            profilesInArray());
+        BuiltProjectImpl builtProject = createBuiltProject();
 
-        if (logBuffer != null) {
-            builtProject.setMavenLog(logBuffer.toString());
+        if (outputPipeline != null) {
+            builtProject.setMavenLog(outputPipeline.getLog());
         }
         if (result != null) {
             builtProject.setMavenBuildExitCode(result.getExitCode());
@@ -129,6 +186,23 @@ public class BuildTrigger {
         return builtProject;
     }
 
+    private BuiltProjectImpl createBuiltProject() {
+        return new BuiltProjectImpl(
+            getPomFile(),
+            invocationRequest.getGlobalSettingsFile(),
+            invocationRequest.getUserSettingsFile(),
+            invocationRequest.getProperties(),
+            profilesInArray());
+    }
+
+    private File getPomFile() {
+        File pomFile = invocationRequest.getPomFile();
+        if (pomFile == null) {
+            pomFile = new File(invocationRequest.getBaseDirectory() + File.separator + "pom.xml");
+        }
+        return pomFile;
+    }
+
     private String[] profilesInArray() {
         String[] profiles = new String[] {};
         List<String> profilesList = invocationRequest.getProfiles();
@@ -139,15 +213,22 @@ public class BuildTrigger {
         return profiles;
     }
 
-    private String removeSAXParserFactoryProperty() {
+    private void removeSAXParserFactoryProperty() {
         // solution for https://issues.jboss.org/browse/SHRINKRES-212
-        final Object value = System.getProperties().remove(SAX_PARSER_FACTORY_KEY);
-        return value != null ? (String) value : null;
+        synchronized (SAX_PARSER_FACTORY_LOCK) {
+            if (runningBuilds++ == 0) {
+                final Object value = System.getProperties().remove(SAX_PARSER_FACTORY_KEY);
+                saxParserFactory = value != null ? (String) value : null;
+            }
+        }
     }
 
-    private void setSAXParserFactoryProperty(String oldValue) {
-        if (oldValue != null) {
-            System.setProperty(SAX_PARSER_FACTORY_KEY, oldValue);
+    private void setSAXParserFactoryProperty() {
+        synchronized (SAX_PARSER_FACTORY_LOCK) {
+            if (--runningBuilds == 0 && saxParserFactory != null) {
+                System.setProperty(SAX_PARSER_FACTORY_KEY, saxParserFactory);
+                saxParserFactory = null;
+            }
         }
     }
 }
@@ -4,32 +4,39 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.maven.model.Model;
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.Filter;
+import org.jboss.shrinkwrap.api.Filters;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
 import org.jboss.shrinkwrap.api.spec.EnterpriseArchive;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.jboss.shrinkwrap.api.spec.WebArchive;
 import org.jboss.shrinkwrap.resolver.api.maven.PackagingType;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuiltProject;
-import org.jboss.shrinkwrap.resolver.api.maven.pom.ParsedPomFile;
-import org.jboss.shrinkwrap.resolver.impl.maven.MavenWorkingSessionImpl;
 import org.jboss.shrinkwrap.resolver.impl.maven.util.Validate;
 
 /**
+ * The models of the project and of its modules are loaded lazily by a {@link ModelLoader} shared by the whole
+ * project tree. Accessing all modules at once loads their models in parallel.
+ *
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
 public class BuiltProjectImpl implements BuiltProject {
 
     private final File pom;
-    private final File globalSettingsXml;
-    private final File userSettingsXml;
-    private final String[] profiles;
-    private Model model;
+    private final ModelLoader modelLoader;
+    private final ConcurrentMap<String, BuiltProjectImpl> submodules = new ConcurrentHashMap<>();
+    private CompletableFuture<Model> model;
     private String mavenLog;
     private int mavenBuildExitCode = 0;
-    private final Properties properties;
 
     public BuiltProjectImpl(String pom, String... profiles) {
         this(new File(pom), null, null, null, profiles);
@@ -46,41 +53,44 @@ public class BuiltProjectImpl implements BuiltProject {
 
     public BuiltProjectImpl(File pom, File globalSettingsXml, File userSettingsXml, Properties properties,
         String... profiles) {
+        this(pom, new ModelLoader(globalSettingsXml, userSettingsXml, properties, profiles));
+    }
+
+    private BuiltProjectImpl(File pom, ModelLoader modelLoader) {
         this.pom = pom;
-        this.profiles = profiles;
-        this.globalSettingsXml = globalSettingsXml;
-        this.userSettingsXml = userSettingsXml;
-        this.properties = properties;
+        this.modelLoader = modelLoader;
     }
 
     public Model getModel() {
-        if (model == null) {
-            MavenWorkingSessionImpl mavenWorkingSession = new MavenWorkingSessionImpl();
-            mavenWorkingSession.configureSettingsFromFile(globalSettingsXml, userSettingsXml);
-            ParsedPomFile parsedPomFile =
-                mavenWorkingSession.loadPomFromFile(pom, properties, profiles).getParsedPomFile();
-            model = parsedPomFile.getModel();
+        final CompletableFuture<Model> loadedModel;
+        synchronized (this) {
+            if (model == null) {
+                model = CompletableFuture.completedFuture(modelLoader.load(pom));
+            }
+            loadedModel = model;
+        }
+        try {
+            return loadedModel.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
-        return model;
     }
 
-    public Archive<?> getDefaultBuiltArchive() {
-        String finalName = getModel().getBuild().getFinalName();
-        String buildDirectory = getModel().getBuild().getDirectory();
-        String packaging = getModel().getPackaging();
-        PackagingType packagingType = PackagingType.fromCache(packaging);
-
-        if (packagingType == null) {
-            throw new IllegalArgumentException("The packaging type " + packaging + " is not supported");
+    private synchronized void loadModelAsync() {
+        if (model == null) {
+            model = modelLoader.loadAsync(pom);
         }
+    }
 
-        if (packagingType != PackagingType.POM) {
-            File zipFile = new File(buildDirectory + File.separator + finalName + "." + packaging);
+    public Archive<?> getDefaultBuiltArchive() {
+        return getDefaultBuiltArchive(Filters.includeAll());
+    }
 
-            return ShrinkWrap.createFromZipFile(getArchiveRepresentation(packagingType), zipFile);
-        } else {
-            return null;
-        }
+    private static <A extends Archive<?>> A importArchive(Class<A> type, File file, Filter<ArchivePath> filter) {
+        return ShrinkWrap.create(ZipImporter.class, file.getName()).importFrom(file, filter).as(type);
     }
 
     private Class<? extends Archive<?>> getArchiveRepresentation(PackagingType packagingType) {
@@ -97,7 +107,7 @@ public class BuiltProjectImpl implements BuiltProject {
         File projectDirectory = getModel().getProjectDirectory();
         for (String module : modules) {
             if (moduleName.equals(module)) {
-                return getSubmodule(projectDirectory + File.separator + module + File.separator + "pom.xml");
+                return getSubmodule(projectDirectory, module);
             }
         }
         return null;
@@ -108,19 +118,17 @@ public class BuiltProjectImpl implements BuiltProject {
         File projectDirectory = getModel().getProjectDirectory();
         List<BuiltProject> projects = new ArrayList<>(modules.size());
         for (String module : modules) {
-            projects.add(getSubmodule(projectDirectory + File.separator + module + File.separator + "pom.xml"));
+            BuiltProjectImpl submodule = getSubmodule(projectDirectory, module);
+            // the models of all modules are likely to be accessed, so they are loaded in parallel
+            submodule.loadModelAsync();
+            projects.add(submodule);
         }
         return projects;
     }
 
-    private BuiltProject getSubmodule(String pomfile) {
-        BuiltProjectImpl submodule = new BuiltProjectImpl(
-            pomfile,
-            globalSettingsXml,
-            userSettingsXml,
-            properties,
-            profiles
-        );
+    private BuiltProjectImpl getSubmodule(File projectDirectory, String module) {
+        BuiltProjectImpl submodule = submodules.computeIfAbsent(module, name -> new BuiltProjectImpl(
+            new File(projectDirectory + File.separator + name + File.separator + "pom.xml"), modelLoader));
         submodule.setMavenBuildExitCode(getMavenBuildExitCode());
         submodule.setMavenLog(getMavenLog());
         return submodule;
@@ -143,7 +151,7 @@ public class BuiltProjectImpl implements BuiltProject {
         for (File file : allFirstLevelFiles) {
             Class<? extends Archive<?>> archiveType = getIfSupported(file);
             if (archiveType != null) {
-                archives.add(ShrinkWrap.createFromZipFile(archiveType, file));
+                archives.add(importArchive(archiveType, file, Filters.includeAll()));
             }
         }
         return archives;
@@ -178,7 +186,7 @@ public class BuiltProjectImpl implements BuiltProject {
         for (File file : allFirstLevelFiles) {
             Class<? extends Archive<?>> archiveType = getIfSupported(file);
             if (archiveType != null && archiveType.isAssignableFrom(type)) {
-                archives.add(ShrinkWrap.createFromZipFile(type, file));
+                archives.add(importArchive(type, file, Filters.includeAll()));
             }
         }
         return archives;
@@ -0,0 +1,235 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * User level cache of extracted distributions shared by all projects. Every distribution is extracted only once into
+ * a directory named by the checksum of its archive; projects get their own copy of it in their target directory, made
+ * of hard links to the cached files where the file system supports them, so the copy is cheap and the project
+ * directory stays self-contained.
+ * <p>
+ * The checksum is stored next to the archive, so the archive is hashed only once. The extraction is guarded by a file
+ * lock, so several JVMs can prepare the same distribution concurrently, and becomes visible by an atomic rename, so
+ * a partially extracted distribution is never used. Temporary directories left by an interrupted extraction are
+ * removed when the cache is opened.
+ * </p>
+ */
+class DistributionCache {
+
+    private static final String CHECKSUM_EXTENSION = ".sha512";
+    private static final String TEMPORARY_INFIX = ".tmp";
+    // the file locks are held by the whole JVM, so the threads of the same JVM have to be serialized separately
+    private static final ConcurrentMap<String, Object> EXTRACTION_LOCKS = new ConcurrentHashMap<>();
+
+    private final Logger log = Logger.getLogger(DistributionCache.class.getName());
+    private final Path extractedDir;
+    private final Path projectDir;
+
+    DistributionCache(File cacheDir, File projectDir) {
+        this.extractedDir = cacheDir.toPath().resolve("extracted");
+        this.projectDir = projectDir.toPath();
+        removeLeftovers();
+    }
+
+    /**
+     * Removes temporary directories of interrupted extractions, skipping the ones which are still in progress.
+     */
+    private void removeLeftovers() {
+        if (!Files.isDirectory(extractedDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(extractedDir, "*" + TEMPORARY_INFIX + "*")) {
+            for (Path leftover : leftovers) {
+                final String name = leftover.getFileName().toString();
+                final String key = name.substring(0, name.indexOf(TEMPORARY_INFIX));
+                synchronized (EXTRACTION_LOCKS.computeIfAbsent(key, k -> new Object())) {
+                    try (FileChannel channel = FileChannel.open(extractedDir.resolve(key + ".lock"),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                         FileLock lock = channel.tryLock()) {
+                        if (lock != null && Files.exists(leftover)) {
+                            deleteRecursively(leftover);
+                        }
+                    } catch (OverlappingFileLockException e) {
+                        // extracted by this JVM right now
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.fine("Unable to remove temporary directories from the cache " + extractedDir + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a directory containing the extracted content of the given archive, extracting it if it isn't cached yet.
+     *
+     * @param archive The archive of the distribution
+     * @return The directory containing the extracted content
+     */
+    File extract(File archive) {
+        try {
+            final String key = getChecksum(archive).substring(0, 32);
+            final Path extracted = extractedDir.resolve(key);
+            if (!Files.isDirectory(extracted)) {
+                synchronized (EXTRACTION_LOCKS.computeIfAbsent(key, k -> new Object())) {
+                    extractLocked(archive, key, extracted);
+                }
+            }
+            return copyToProject(key, extracted);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to prepare the distribution " + archive + " in the cache "
+                + extractedDir, e);
+        }
+    }
+
+    private void extractLocked(File archive, String key, Path extracted) throws IOException {
+        Files.createDirectories(extractedDir);
+        try (FileChannel channel = FileChannel.open(extractedDir.resolve(key + ".lock"),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            if (Files.isDirectory(extracted)) {
+                return;
+            }
+            final Path temporary = Files.createTempDirectory(extractedDir, key + TEMPORARY_INFIX);
+            FileExtractor.extract(archive, temporary.toFile());
+            try {
+                Files.move(temporary, extracted, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, extracted);
+            }
+        }
+    }
+
+    private File copyToProject(String key, Path extracted) {
+        final Path copy = projectDir.resolve(key);
+        Path temporary = null;
+        try {
+            if (Files.isSymbolicLink(copy)) {
+                // a link into the cache made by a former version
+                Files.delete(copy);
+            }
+            if (Files.isDirectory(copy)) {
+                return copy.toFile();
+            }
+            Files.createDirectories(projectDir);
+            temporary = Files.createTempDirectory(projectDir, key + TEMPORARY_INFIX);
+            copyTree(extracted, temporary);
+            try {
+                Files.move(temporary, copy, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, copy);
+            }
+            temporary = null;
+            return copy.toFile();
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            // copied concurrently by another project build
+            return copy.toFile();
+        } catch (IOException e) {
+            log.fine("Unable to copy the cached distribution " + extracted + " to " + copy + ", it is used directly: "
+                + e.getMessage());
+            return extracted.toFile();
+        } finally {
+            if (temporary != null) {
+                try {
+                    deleteRecursively(temporary);
+                } catch (IOException e) {
+                    log.fine("Unable to remove temporary directory " + temporary + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the tree by hard links, or by copying the files if links are not supported between the directories.
+     */
+    private static void copyTree(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            private boolean linksSupported = true;
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                final Path copy = target.resolve(source.relativize(file).toString());
+                if (linksSupported) {
+                    try {
+                        Files.createLink(copy, file);
+                        return FileVisitResult.CONTINUE;
+                    } catch (UnsupportedOperationException | FileSystemException e) {
+                        linksSupported = false;
+                    }
+                }
+                Files.copy(file, copy, StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Returns the SHA-512 checksum of the archive. It is read from the sidecar file if it is not older than the archive,
+     * otherwise it is computed and stored in the sidecar file.
+     */
+    String getChecksum(File archive) throws IOException {
+        final Path sidecar = archive.toPath().resolveSibling(archive.getName() + CHECKSUM_EXTENSION);
+        if (Files.isRegularFile(sidecar) && Files.getLastModifiedTime(sidecar).toMillis() >= archive.lastModified()) {
+            List<String> lines = Files.readAllLines(sidecar, StandardCharsets.US_ASCII);
+            if (!lines.isEmpty() && lines.get(0).matches("[0-9a-f]{128}")) {
+                return lines.get(0);
+            }
+        }
+        final String checksum;
+        try (InputStream inputStream = Files.newInputStream(archive.toPath())) {
+            checksum = DigestUtils.sha512Hex(inputStream);
+        }
+        final Path temporary = Files.createTempFile(sidecar.getParent(), sidecar.getFileName().toString(), ".tmp");
+        Files.write(temporary, checksum.getBytes(StandardCharsets.US_ASCII));
+        try {
+            Files.move(temporary, sidecar, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, sidecar, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return checksum;
+    }
+}
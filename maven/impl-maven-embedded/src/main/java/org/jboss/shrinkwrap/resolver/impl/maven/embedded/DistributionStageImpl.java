@@ -6,6 +6,8 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuildStage;
@@ -26,6 +28,9 @@ public abstract class DistributionStageImpl<NEXT_STEP extends BuildStage<DAEMON_
             + "resolver" + File.separator
             + "maven";
 
+    // distributions are prepared under a lock per archive name so that unrelated builds don't wait for each other
+    private static final ConcurrentMap<String, Object> DISTRIBUTION_LOCKS = new ConcurrentHashMap<>();
+
     private File setMavenInstallation = null;
     private boolean useLocalInstallation = false;
     private final Logger log = Logger.getLogger(DistributionStage.class.getName());
@@ -42,21 +47,30 @@ public abstract class DistributionStageImpl<NEXT_STEP extends BuildStage<DAEMON_
 
     @Override
     public NEXT_STEP useDistribution(URL mavenDistribution, boolean useCache) {
-        synchronized (MAVEN_3_BASE_URL) {
+        synchronized (getDistributionLock(mavenDistribution)) {
             File mavenDir = prepareMavenDir(useCache);
             File downloaded = BinaryDownloader.download(mavenDir, mavenDistribution);
-            String downloadedZipMd5hash = getMd5hash(downloaded);
-            File withExtractedDir;
-            if (downloadedZipMd5hash != null) {
-                withExtractedDir =
-                    FileExtractor.extract(downloaded, Paths.get(MAVEN_TARGET_DIR, downloadedZipMd5hash).toFile());
-                File binDirectory = retrieveBinDirectory(withExtractedDir);
-                useInstallation(binDirectory);
+            if (useCache) {
+                File withExtractedDir = new DistributionCache(mavenDir, new File(MAVEN_TARGET_DIR)).extract(downloaded);
+                useInstallation(retrieveBinDirectory(withExtractedDir));
+            } else {
+                String downloadedZipMd5hash = getMd5hash(downloaded);
+                if (downloadedZipMd5hash != null) {
+                    File withExtractedDir =
+                        FileExtractor.extract(downloaded, Paths.get(MAVEN_TARGET_DIR, downloadedZipMd5hash).toFile());
+                    File binDirectory = retrieveBinDirectory(withExtractedDir);
+                    useInstallation(binDirectory);
+                }
             }
         }
         return returnNextStepType();
     }
 
+    private static Object getDistributionLock(URL mavenDistribution) {
+        final String path = mavenDistribution.getPath();
+        return DISTRIBUTION_LOCKS.computeIfAbsent(path.substring(path.lastIndexOf('/') + 1), name -> new Object());
+    }
+
     private File retrieveBinDirectory(File uncompressed) {
         File[] extracted = uncompressed.listFiles(File::isDirectory);
         if (extracted == null || extracted.length == 0) {
@@ -1,37 +1,58 @@
 package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
 
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.Objects;
-
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.zip.AsiExtraField;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
-import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
 import org.apache.commons.compress.archivers.zip.ZipExtraField;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.io.IOUtils;
 
 class FileExtractor {
 
+   /**
+    * The number of threads writing the extracted files; {@code 1} writes them sequentially by the reading thread.
+    */
+   static final String EXTRACTION_THREADS_KEY = "org.jboss.shrinkwrap.resolver.maven.embedded.extractionThreads";
+
+   private static final int BUFFER_SIZE = 64 * 1024;
+   // entries of a compressed tar are decompressed into memory up to this size and handed to the writing threads,
+   // the bigger ones are written directly; together with the queue capacity it bounds the memory used for extraction
+   private static final int MAX_QUEUED_ENTRY_SIZE = 512 * 1024;
+   private static final int QUEUE_CAPACITY = 32;
+
    private final File fileToExtract;
    private final File destinationDir;
    private final MarkerFileHandler markerFileHandler;
    private final List<String> acceptedExtensions = Arrays.asList(".zip", ".tar.gz", ".tar.bz2", ".tgz", ".tbz2");
+   private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
 
    private FileExtractor(File fileToExtract, File destinationDir) {
       this.fileToExtract = fileToExtract;
@@ -56,44 +77,125 @@ class FileExtractor {
    private void extractFileInDestinationDir() {
       String fileExtension = getExtension(fileToExtract);
       markerFileHandler.createMarkerFile();
-      try (FileInputStream fileInputStream = new FileInputStream(fileToExtract);
+      Path destPath = destinationDir.toPath().toAbsolutePath().normalize();
+      try (EntryWriter entryWriter = new EntryWriter(Integer.getInteger(EXTRACTION_THREADS_KEY,
+         Math.min(4, Runtime.getRuntime().availableProcessors())))) {
+         if (fileExtension.equals(".zip")) {
+            extractZipFile(destPath, entryWriter);
+         } else {
+            extractCompressedTar(fileExtension, destPath, entryWriter);
+         }
+      } catch (IOException | RuntimeException e) {
+         // a partial extraction must not be taken for a finished one (the marker file is removed with the directory)
+         try {
+            if (destinationDir.exists()) {
+               deleteFileRecursively(destinationDir.toPath());
+            }
+         } catch (IOException deletionFailure) {
+            e.addSuppressed(deletionFailure);
+         }
+         throw new IllegalStateException("Failed to extract file " + fileToExtract + " to " + destinationDir, e);
+      }
+      if (markerFileHandler.deleteMarkerFile()) {
+         System.out.printf("Resolver: Successfully extracted maven binaries from %s%n", fileToExtract);
+      }
+   }
+
+   /**
+    * Zip files are read with random access, so every entry is read and written by one of the writing threads.
+    */
+   private void extractZipFile(Path destPath, EntryWriter entryWriter) throws IOException {
+      try (ZipFile zipFile = ZipFile.builder().setFile(fileToExtract).get()) {
+         Enumeration<ZipArchiveEntry> entries = zipFile.getEntriesInPhysicalOrder();
+         while (entries.hasMoreElements()) {
+            ZipArchiveEntry entry = entries.nextElement();
+            Path entryPath = resolveEntryPath(destPath, entry);
+            if (entry.isDirectory()) {
+               createDirectories(entryPath);
+            } else {
+               entryWriter.write(() -> {
+                  try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                     writeFile(entryPath, inputStream, getPermissions(entry));
+                  }
+               });
+            }
+         }
+         // the zip file has to stay open until all entries are written
+         entryWriter.awaitWritten();
+      }
+   }
+
+   /**
+    * Compressed tars can be read only sequentially, so small entries are decompressed into memory and written by the
+    * writing threads while the reading thread continues with decompression.
+    */
+   private void extractCompressedTar(String fileExtension, Path destPath, EntryWriter entryWriter) throws IOException {
+      try (InputStream fileInputStream = new BufferedInputStream(Files.newInputStream(fileToExtract.toPath()), BUFFER_SIZE);
            InputStream inputStream = getCompressorInputStream(fileExtension, fileInputStream);
            ArchiveInputStream<?> archiveInputStream = getArchiveInputStream(fileExtension, inputStream)) {
 
-         Path destPath = Paths.get(destinationDir.toURI());
          ArchiveEntry entry;
          while ((entry = archiveInputStream.getNextEntry()) != null) {
-            Path entryPath = destPath.resolve(entry.getName());
+            Path entryPath = resolveEntryPath(destPath, entry);
             if (entry.isDirectory()) {
-               Files.createDirectories(entryPath);
+               createDirectories(entryPath);
             } else {
-               Files.createDirectories(entryPath.getParent());
-               try (FileOutputStream fileOutputStream = new FileOutputStream(entryPath.toFile())) {
-                  byte[] buffer = new byte[1024];
-                  int len;
-                  while ((len = archiveInputStream.read(buffer)) != -1) {
-                     fileOutputStream.write(buffer, 0, len);
-                  }
-               }
                int permissions = getPermissions(entry);
-               if (permissions != 0) {
-                  FilePermission filePermission = PermissionsUtil.toFilePermission(permissions);
-                  PermissionsUtil.applyPermission(entryPath.toFile(), filePermission);
+               long size = entry.getSize();
+               if (entryWriter.isParallel() && size >= 0 && size <= MAX_QUEUED_ENTRY_SIZE) {
+                  byte[] content = IOUtils.toByteArray(archiveInputStream, size);
+                  entryWriter.write(() -> writeFile(entryPath, content, permissions));
+               } else {
+                  writeFile(entryPath, archiveInputStream, permissions);
                }
             }
          }
-      } catch (IOException e) {
-         System.err.println("Failed to unzip file: " + e.getMessage());
+         entryWriter.awaitWritten();
       }
-      if (markerFileHandler.deleteMarkerFile()) {
-         System.out.printf("Resolver: Successfully extracted maven binaries from %s%n", fileToExtract);
+   }
+
+   private void writeFile(Path entryPath, InputStream inputStream, int permissions) throws IOException {
+      createDirectories(entryPath.getParent());
+      try (OutputStream outputStream = Files.newOutputStream(entryPath)) {
+         byte[] buffer = new byte[BUFFER_SIZE];
+         int len;
+         while ((len = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, len);
+         }
+      }
+      applyPermissions(entryPath, permissions);
+   }
+
+   private void writeFile(Path entryPath, byte[] content, int permissions) throws IOException {
+      createDirectories(entryPath.getParent());
+      Files.write(entryPath, content);
+      applyPermissions(entryPath, permissions);
+   }
+
+   private void applyPermissions(Path entryPath, int permissions) {
+      if (permissions != 0) {
+         PermissionsUtil.applyPermission(entryPath, permissions);
+      }
+   }
+
+   private void createDirectories(Path directory) throws IOException {
+      // the directory is remembered only once it exists, so the other writing threads don't skip it too early
+      if (!createdDirectories.contains(directory)) {
+         Files.createDirectories(directory);
+         createdDirectories.add(directory);
+      }
+   }
+
+   private Path resolveEntryPath(Path destPath, ArchiveEntry entry) throws IOException {
+      Path entryPath = destPath.resolve(entry.getName()).normalize();
+      if (!entryPath.startsWith(destPath)) {
+         throw new IOException("The entry " + entry.getName() + " is outside of the destination directory");
       }
+      return entryPath;
    }
 
-   private static InputStream getCompressorInputStream(String fileExtension, FileInputStream fileInputStream) throws IOException {
+   private static InputStream getCompressorInputStream(String fileExtension, InputStream fileInputStream) throws IOException {
        switch (fileExtension) {
-           case ".zip":
-               return fileInputStream;
            case ".tar.gz":
            case ".tgz":
                return new GzipCompressorInputStream(fileInputStream);
@@ -108,8 +210,6 @@ class FileExtractor {
    private static ArchiveInputStream<?> getArchiveInputStream(String fileExtension, InputStream inputStream) {
       if (fileExtension.equals(".tar.gz") || fileExtension.equals(".tgz") || fileExtension.equals(".tar.bz2") || fileExtension.equals(".tbz2")) {
          return new TarArchiveInputStream(inputStream);
-      } else if (fileExtension.equals(".zip")) {
-         return new ZipArchiveInputStream(inputStream);
       } else {
          throw new IllegalArgumentException("Unsupported file extension: " + fileExtension);
       }
@@ -139,6 +239,8 @@ class FileExtractor {
                return asiExtraField.getMode();
             }
          }
+         // the mode stored in the central directory, available when the entry is read by ZipFile
+         return zipArchiveEntry.getUnixMode();
       }
       return 0;
    }
@@ -179,4 +281,78 @@ class FileExtractor {
          }
       });
    }
+
+   /**
+    * Writes the extracted files by a bounded number of threads. When all of them are busy and the queue is full, the
+    * file is written by the calling thread, which also throttles the reading of the archive.
+    */
+   private static class EntryWriter implements AutoCloseable {
+
+      private final ThreadPoolExecutor executor;
+      private final List<Future<Void>> writes = new ArrayList<>();
+
+      EntryWriter(int threads) {
+         if (threads > 1) {
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+               new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                  Thread thread = new Thread(runnable, "resolver-maven-extraction");
+                  thread.setDaemon(true);
+                  return thread;
+               }, new ThreadPoolExecutor.CallerRunsPolicy());
+         } else {
+            executor = null;
+         }
+      }
+
+      boolean isParallel() {
+         return executor != null;
+      }
+
+      void write(EntryWrite write) throws IOException {
+         if (executor == null) {
+            write.run();
+            return;
+         }
+         FutureTask<Void> task = new FutureTask<>(() -> {
+            write.run();
+            return null;
+         });
+         writes.add(task);
+         executor.execute(task);
+      }
+
+      void awaitWritten() throws IOException {
+         try {
+            for (Future<Void> write : writes) {
+               write.get();
+            }
+         } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+               throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("The extraction has been interrupted", e);
+         }
+      }
+
+      @Override
+      public void close() {
+         if (executor != null) {
+            executor.shutdownNow();
+            try {
+               // nothing may be written after the extraction is finished (or its result deleted)
+               executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            }
+         }
+      }
+   }
+
+   @FunctionalInterface
+   private interface EntryWrite {
+      void run() throws IOException;
+   }
 }
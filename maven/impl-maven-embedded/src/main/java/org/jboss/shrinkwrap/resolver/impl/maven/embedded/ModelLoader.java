@@ -0,0 +1,72 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
+
+import java.io.File;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.ModelCache;
+import org.jboss.shrinkwrap.resolver.impl.maven.MavenWorkingSessionImpl;
+import org.jboss.shrinkwrap.resolver.impl.maven.internal.MavenModelCache;
+
+/**
+ * Loads the models of a built project and of its modules. All models are built by sessions derived from a single
+ * session, so the repository system and the settings are initialized only once, and all model building requests share
+ * a single {@link ModelCache}, so the common parents and imported BOMs are built only once.
+ */
+class ModelLoader {
+
+    public static final String MODEL_THREADS_KEY = "org.jboss.shrinkwrap.resolver.maven.embedded.modelThreads";
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    // shared by all projects; the threads terminate when idle, so nothing has to be shut down
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private final File globalSettingsXml;
+    private final File userSettingsXml;
+    private final Properties properties;
+    private final String[] profiles;
+    private final ModelCache modelCache = new MavenModelCache();
+    private MavenWorkingSessionImpl session;
+
+    ModelLoader(File globalSettingsXml, File userSettingsXml, Properties properties, String... profiles) {
+        this.globalSettingsXml = globalSettingsXml;
+        this.userSettingsXml = userSettingsXml;
+        this.properties = properties;
+        this.profiles = profiles;
+    }
+
+    Model load(File pom) {
+        return new MavenWorkingSessionImpl(getSession(), modelCache)
+            .loadPomFromFile(pom, properties, profiles)
+            .getParsedPomFile()
+            .getModel();
+    }
+
+    CompletableFuture<Model> loadAsync(File pom) {
+        return CompletableFuture.supplyAsync(() -> load(pom), EXECUTOR);
+    }
+
+    private synchronized MavenWorkingSessionImpl getSession() {
+        if (session == null) {
+            session = new MavenWorkingSessionImpl();
+            session.configureSettingsFromFile(globalSettingsXml, userSettingsXml);
+        }
+        return session;
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        final int threads =
+            Math.max(1, Integer.getInteger(MODEL_THREADS_KEY, Runtime.getRuntime().availableProcessors()));
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "embedded-maven-model-loader-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,98 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.shared.invoker.InvocationRequest;
+import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuiltProject;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.ParallelEmbeddedMaven;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.StandardBuilder;
+
+public class ParallelEmbeddedMavenImpl implements ParallelEmbeddedMaven {
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private int maxParallelism = Runtime.getRuntime().availableProcessors();
+    private int totalMegabytes = 0;
+    private int perBuildMegabytes = 0;
+    private ExecutorService executor;
+    private boolean closed = false;
+
+    @Override
+    public synchronized ParallelEmbeddedMaven setMaxParallelism(int maxParallelism) {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("Max parallelism has to be positive, but was: " + maxParallelism);
+        }
+        checkNotStarted();
+        this.maxParallelism = maxParallelism;
+        return this;
+    }
+
+    @Override
+    public synchronized ParallelEmbeddedMaven setMemoryBudget(int totalMegabytes, int perBuildMegabytes) {
+        if (perBuildMegabytes < 1 || totalMegabytes < perBuildMegabytes) {
+            throw new IllegalArgumentException(String.format(
+                "The memory budget of a build (%s MB) has to be positive and can't exceed the total budget (%s MB)",
+                perBuildMegabytes, totalMegabytes));
+        }
+        checkNotStarted();
+        this.totalMegabytes = totalMegabytes;
+        this.perBuildMegabytes = perBuildMegabytes;
+        return this;
+    }
+
+    @Override
+    public synchronized CompletableFuture<BuiltProject> submit(StandardBuilder build) {
+        Validate.notNull(build, "Build can not be null!");
+        if (closed) {
+            throw new IllegalStateException("No build can be submitted as the instance has already been closed");
+        }
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(getParallelism(), runnable -> {
+                Thread thread = new Thread(runnable, "embedded-maven-parallel-build-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        applyMemoryBudget(build);
+        try {
+            return CompletableFuture.supplyAsync(build::build, executor);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("The build couldn't be submitted", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    int getParallelism() {
+        if (perBuildMegabytes > 0) {
+            return Math.max(1, Math.min(maxParallelism, totalMegabytes / perBuildMegabytes));
+        }
+        return maxParallelism;
+    }
+
+    void applyMemoryBudget(StandardBuilder build) {
+        if (perBuildMegabytes > 0 && build instanceof BuildStageImpl) {
+            InvocationRequest request = ((BuildStageImpl<?, ?>) build).getInvocationRequest();
+            String mavenOpts = request.getMavenOpts();
+            if (mavenOpts == null || !mavenOpts.contains("-Xmx")) {
+                String maxHeap = "-Xmx" + perBuildMegabytes + "m";
+                request.setMavenOpts(Validate.isNullOrEmpty(mavenOpts) ? maxHeap : mavenOpts + " " + maxHeap);
+            }
+        }
+    }
+
+    private void checkNotStarted() {
+        if (executor != null || closed) {
+            throw new IllegalStateException("The limits have to be set before the first build is submitted");
+        }
+    }
+}
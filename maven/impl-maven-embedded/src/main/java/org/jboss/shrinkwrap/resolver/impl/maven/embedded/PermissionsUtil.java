@@ -1,6 +1,12 @@
 package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.Set;
 
 public class PermissionsUtil {
 
@@ -63,4 +69,34 @@ public class PermissionsUtil {
             System.err.println("Unable to change permissions of extracted files.");
         }
     }
+
+    /**
+     * Applies the given unix mode to the file - by a single call on POSIX file systems, by
+     * {@link #applyPermission(File, FilePermission)} on the others.
+     */
+    public static void applyPermission(Path path, int mode) {
+        try {
+            Files.setPosixFilePermissions(path, toPosixFilePermissions(mode));
+        } catch (UnsupportedOperationException e) {
+            applyPermission(path.toFile(), toFilePermission(mode));
+        } catch (IOException e) {
+            System.err.println("Unable to change permissions of extracted files.");
+        }
+    }
+
+    static Set<PosixFilePermission> toPosixFilePermissions(int mode) {
+        Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+        PosixFilePermission[] values = { PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE,
+            PosixFilePermission.OWNER_EXECUTE, PosixFilePermission.GROUP_READ, PosixFilePermission.GROUP_WRITE,
+            PosixFilePermission.GROUP_EXECUTE, PosixFilePermission.OTHERS_READ, PosixFilePermission.OTHERS_WRITE,
+            PosixFilePermission.OTHERS_EXECUTE };
+        int flag = OWNER_READ_FLAG;
+        for (PosixFilePermission value : values) {
+            if ((mode & flag) > 0) {
+                permissions.add(value);
+            }
+            flag >>= 1;
+        }
+        return permissions;
+    }
 }
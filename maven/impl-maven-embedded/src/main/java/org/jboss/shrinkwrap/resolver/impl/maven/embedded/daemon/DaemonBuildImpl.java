@@ -1,13 +1,29 @@
 package org.jboss.shrinkwrap.resolver.impl.maven.embedded.daemon;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuiltProject;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.daemon.DaemonBuild;
 import org.jboss.shrinkwrap.resolver.impl.maven.embedded.BuildTrigger;
 
 public class DaemonBuildImpl implements DaemonBuild {
 
-    private Thread daemonBuildThread;
+    private static final Logger log = Logger.getLogger(DaemonBuildImpl.class.getName());
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    // daemon builds may run for the whole life of a test suite (e.g. a started server), so the pool can't be bounded;
+    // it only reuses the threads of finished builds and lets them go shortly after, so it doesn't hold the JVM
+    private static final ExecutorService DAEMON_BUILD_EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+        1L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+        runnable -> new Thread(runnable, "embedded-maven-daemon-build-" + THREAD_COUNTER.incrementAndGet()));
+
+    private Future<?> daemonBuildFuture;
     private final DaemonRunnable daemonRunnable;
 
     public DaemonBuildImpl(BuildTrigger buildTrigger){
@@ -19,7 +35,7 @@ public class DaemonBuildImpl implements DaemonBuild {
     }
 
     public boolean isAlive(){
-        return daemonBuildThread.isAlive();
+        return !daemonBuildFuture.isDone();
     }
 
     public BuiltProject getBuiltProject(){
@@ -40,8 +56,7 @@ public class DaemonBuildImpl implements DaemonBuild {
     }
 
     DaemonBuild build() {
-        daemonBuildThread = new Thread(daemonRunnable);
-        daemonBuildThread.start();
+        daemonBuildFuture = DAEMON_BUILD_EXECUTOR.submit(daemonRunnable);
         return this;
     }
 
@@ -59,7 +74,13 @@ public class DaemonBuildImpl implements DaemonBuild {
 
         @Override
         public void run() {
-            builtProject = buildTrigger.build(expectedRegex, countDownLatch);
+            try {
+                builtProject = buildTrigger.build(expectedRegex, countDownLatch);
+            } catch (RuntimeException e) {
+                // nobody waits for the result of a daemon build, so the failure would get lost in the future
+                log.log(Level.SEVERE, "The daemon Maven build has failed", e);
+                throw e;
+            }
         }
 
         BuiltProject getBuiltProject() {
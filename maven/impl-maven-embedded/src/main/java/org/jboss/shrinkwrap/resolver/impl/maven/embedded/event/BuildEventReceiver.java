@@ -0,0 +1,182 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded.event;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.io.IOUtils;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuildEvent;
+
+/**
+ * Receives the events sent by {@link BuildEventSpy} from the invoked Maven and passes them to the listeners. The spy is
+ * added to the invoked Maven as a core extension: a jar containing only the spy is created once per JVM and appended to
+ * the {@code maven.ext.class.path} property of the invocation.
+ */
+public class BuildEventReceiver implements AutoCloseable {
+
+    static final String EXT_CLASS_PATH_PROPERTY = "maven.ext.class.path";
+    private static final String SPY_CLASS_NAME = BuildEventReceiver.class.getPackage().getName() + ".BuildEventSpy";
+    private static final String COMPONENTS_XML = "<component-set>\n"
+        + "  <components>\n"
+        + "    <component>\n"
+        + "      <role>org.apache.maven.eventspy.EventSpy</role>\n"
+        + "      <role-hint>shrinkwrap-resolver</role-hint>\n"
+        + "      <implementation>" + SPY_CLASS_NAME + "</implementation>\n"
+        + "    </component>\n"
+        + "  </components>\n"
+        + "</component-set>\n";
+    // the events of a finished build are still being read when the build returns
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    private static File spyJar;
+
+    private final Logger log = Logger.getLogger(BuildEventReceiver.class.getName());
+    private final List<Consumer<BuildEvent>> listeners;
+    private final ServerSocket serverSocket;
+    private final Thread receiverThread;
+    private volatile Socket socket;
+    private Properties properties;
+    private String originalExtClassPath;
+
+    public BuildEventReceiver(List<Consumer<BuildEvent>> listeners) throws IOException {
+        this.listeners = new ArrayList<>(listeners);
+        this.serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        this.receiverThread = new Thread(this::receive, "embedded-maven-build-events-" + serverSocket.getLocalPort());
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+    }
+
+    /**
+     * Adds the spy and the port it should send the events to into the given properties of the invocation. The original
+     * properties are restored by {@link #close()}.
+     *
+     * @param properties The properties of the invocation
+     * @throws IOException If the jar containing the spy couldn't be created
+     */
+    public void configure(Properties properties) throws IOException {
+        final String spy = getSpyJar().getAbsolutePath();
+        this.properties = properties;
+        this.originalExtClassPath = properties.getProperty(EXT_CLASS_PATH_PROPERTY);
+        properties.setProperty(EXT_CLASS_PATH_PROPERTY, originalExtClassPath == null || originalExtClassPath.isEmpty()
+            ? spy : originalExtClassPath + File.pathSeparator + spy);
+        properties.setProperty(BuildEventSpy.PORT_PROPERTY, String.valueOf(serverSocket.getLocalPort()));
+    }
+
+    /**
+     * Waits until the events of the finished build are received and restores the properties of the invocation.
+     */
+    @Override
+    public void close() {
+        if (socket == null) {
+            // the build hasn't connected at all, so there is nothing to wait for
+            closeQuietly(serverSocket);
+        }
+        try {
+            receiverThread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly(serverSocket);
+            closeQuietly(socket);
+            if (properties != null) {
+                properties.remove(BuildEventSpy.PORT_PROPERTY);
+                if (originalExtClassPath == null) {
+                    properties.remove(EXT_CLASS_PATH_PROPERTY);
+                } else {
+                    properties.setProperty(EXT_CLASS_PATH_PROPERTY, originalExtClassPath);
+                }
+            }
+        }
+    }
+
+    private void receive() {
+        try (Socket accepted = serverSocket.accept();
+             BufferedReader reader =
+                 new BufferedReader(new InputStreamReader(accepted.getInputStream(), StandardCharsets.UTF_8))) {
+            socket = accepted;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final BuildEvent event = parse(line);
+                if (event != null) {
+                    notifyListeners(event);
+                }
+            }
+        } catch (IOException e) {
+            if (!serverSocket.isClosed()) {
+                log.warning("Receiving of the build events has failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void notifyListeners(BuildEvent event) {
+        for (Consumer<BuildEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "The build event listener " + listener + " has failed", e);
+            }
+        }
+    }
+
+    static BuildEvent parse(String line) {
+        final String[] fields = line.split("\t", -1);
+        if (fields.length != 6) {
+            return null;
+        }
+        try {
+            return new BuildEvent(BuildEvent.Type.valueOf(fields[0]), emptyToNull(fields[1]), emptyToNull(fields[2]),
+                Long.parseLong(fields[3]), Long.parseLong(fields[4]), emptyToNull(fields[5]));
+        } catch (IllegalArgumentException e) {
+            // an event of a newer spy or a garbled line
+            return null;
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static synchronized File getSpyJar() throws IOException {
+        if (spyJar == null || !spyJar.isFile()) {
+            final File jar = File.createTempFile("shrinkwrap-resolver-event-spy", ".jar");
+            jar.deleteOnExit();
+            // the class is read as a resource, as it can't be loaded without Maven core on the class path
+            try (InputStream spyClass = BuildEventReceiver.class.getResourceAsStream("BuildEventSpy.class");
+                 JarOutputStream jarStream = new JarOutputStream(new FileOutputStream(jar))) {
+                if (spyClass == null) {
+                    throw new IOException("The class " + SPY_CLASS_NAME + " hasn't been found");
+                }
+                jarStream.putNextEntry(new JarEntry(SPY_CLASS_NAME.replace('.', '/') + ".class"));
+                IOUtils.copy(spyClass, jarStream);
+                jarStream.putNextEntry(new JarEntry("META-INF/plexus/components.xml"));
+                jarStream.write(COMPONENTS_XML.getBytes(StandardCharsets.UTF_8));
+            }
+            spyJar = jar;
+        }
+        return spyJar;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                // nothing to do, the receiving is over anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded.event;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.maven.eventspy.AbstractEventSpy;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Event spy added to the invoked Maven by {@link BuildEventReceiver}. It sends the execution events to the local port
+ * given by the {@link #PORT_PROPERTY} property, one event per line in the format
+ * {@code type TAB project TAB mojo TAB timestamp TAB duration TAB failure}.
+ * <p>
+ * The class is loaded only by the invoked Maven from a jar that doesn't contain any other class of this module, so it
+ * must not depend on them. For the same reason it doesn't switch over enum constants, which would require a synthetic
+ * class.
+ * </p>
+ */
+public class BuildEventSpy extends AbstractEventSpy {
+
+    public static final String PORT_PROPERTY = "org.jboss.shrinkwrap.resolver.maven.embedded.events.port";
+    private static final String SESSION_KEY = "";
+
+    private final Map<String, Long> startTimes = new ConcurrentHashMap<>();
+    private Socket socket;
+    private Writer writer;
+
+    @Override
+    public synchronized void init(Context context) {
+        final String port = getPort(context);
+        if (port == null) {
+            return;
+        }
+        try {
+            socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(port));
+            writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("[WARNING] Unable to connect to the receiver of the build events on port " + port + ": "
+                + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onEvent(Object event) {
+        if (!(event instanceof ExecutionEvent)) {
+            return;
+        }
+        final ExecutionEvent executionEvent = (ExecutionEvent) event;
+        final long now = System.currentTimeMillis();
+        final String project = getProjectId(executionEvent.getProject());
+        final String mojo = getMojoId(executionEvent.getMojoExecution());
+        final String mojoKey = project + " " + mojo;
+        final String failure = executionEvent.getException() != null ? executionEvent.getException().getMessage() : null;
+
+        switch (executionEvent.getType().name()) {
+            case "SessionStarted":
+                startTimes.put(SESSION_KEY, now);
+                send("SESSION_STARTED", null, null, now, -1, null);
+                break;
+            case "SessionEnded":
+                send("SESSION_ENDED", null, null, now, duration(SESSION_KEY, now), null);
+                close();
+                break;
+            case "ProjectStarted":
+                startTimes.put(project, now);
+                send("PROJECT_STARTED", project, null, now, -1, null);
+                break;
+            case "ProjectSucceeded":
+                send("PROJECT_SUCCEEDED", project, null, now, duration(project, now), null);
+                break;
+            case "ProjectFailed":
+                send("PROJECT_FAILED", project, null, now, duration(project, now), failure);
+                break;
+            case "ProjectSkipped":
+                send("PROJECT_SKIPPED", project, null, now, -1, null);
+                break;
+            case "MojoStarted":
+                startTimes.put(mojoKey, now);
+                send("MOJO_STARTED", project, mojo, now, -1, null);
+                break;
+            case "MojoSucceeded":
+                send("MOJO_SUCCEEDED", project, mojo, now, duration(mojoKey, now), null);
+                break;
+            case "MojoFailed":
+                send("MOJO_FAILED", project, mojo, now, duration(mojoKey, now), failure);
+                break;
+            case "MojoSkipped":
+                send("MOJO_SKIPPED", project, mojo, now, -1, null);
+                break;
+            default:
+                // forks and project discovery are not reported
+                break;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (socket != null) {
+            try {
+                writer.flush();
+                socket.close();
+            } catch (IOException e) {
+                // the receiver is gone, there is nobody to tell
+            }
+            socket = null;
+            writer = null;
+        }
+    }
+
+    private synchronized void send(String type, String project, String mojo, long timestamp, long duration,
+        String failure) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(type + '\t' + sanitize(project) + '\t' + sanitize(mojo) + '\t' + timestamp + '\t' + duration
+                + '\t' + sanitize(failure) + '\n');
+            writer.flush();
+        } catch (IOException e) {
+            // the build must not fail because of the spy
+            close();
+        }
+    }
+
+    private long duration(String key, long now) {
+        final Long start = key != null ? startTimes.remove(key) : null;
+        return start != null ? now - start : -1;
+    }
+
+    private static String getPort(Context context) {
+        final Object userProperties = context.getData().get("userProperties");
+        if (userProperties instanceof Properties) {
+            final String port = ((Properties) userProperties).getProperty(PORT_PROPERTY);
+            if (port != null) {
+                return port;
+            }
+        }
+        return System.getProperty(PORT_PROPERTY);
+    }
+
+    private static String getProjectId(MavenProject project) {
+        if (project == null) {
+            return null;
+        }
+        return project.getGroupId() + ":" + project.getArtifactId() + ":" + project.getVersion();
+    }
+
+    private static String getMojoId(MojoExecution mojoExecution) {
+        if (mojoExecution == null) {
+            return null;
+        }
+        return mojoExecution.getGroupId() + ":" + mojoExecution.getArtifactId() + ":" + mojoExecution.getVersion()
+            + ":" + mojoExecution.getGoal() + " (" + mojoExecution.getExecutionId() + ")";
+    }
+
+    private static String sanitize(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\r', ' ').replace('\n', ' ');
+    }
+}
@@ -6,6 +6,7 @@ import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuildStage;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.daemon.WithoutTimeoutDaemonBuilder;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.invoker.equipped.MavenInvokerEquippedEmbeddedMaven;
 import org.jboss.shrinkwrap.resolver.impl.maven.embedded.BuildStageImpl;
+import org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped.OutputPipeline;
 
 /**
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
@@ -33,7 +34,7 @@ public class MavenInvokerEquippedEmbeddedMavenImpl
     }
 
     @Override
-    protected StringBuffer getLogBuffer() {
+    protected OutputPipeline getOutputPipeline() {
         return null;
     }
 
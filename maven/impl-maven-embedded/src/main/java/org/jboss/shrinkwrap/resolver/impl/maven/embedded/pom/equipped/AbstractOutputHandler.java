@@ -8,34 +8,51 @@ import org.jboss.shrinkwrap.resolver.impl.maven.util.Validate;
 public abstract class AbstractOutputHandler implements InvocationOutputHandler {
 
     private final StringBuffer logBuffer;
+    private final OutputPipeline outputPipeline;
     private Pattern expectedPattern;
     private CountDownLatch countDownLatch;
     private boolean quiet = false;
 
     public AbstractOutputHandler(StringBuffer logBuffer, String expectedRegex, CountDownLatch countDownLatch) {
+        this(logBuffer, null, expectedRegex, countDownLatch);
+    }
+
+    public AbstractOutputHandler(StringBuffer logBuffer) {
+        this(logBuffer, null, null, null);
+    }
+
+    /**
+     * Creates a handler that doesn't process the lines itself, but hands them over to the given pipeline.
+     */
+    public AbstractOutputHandler(OutputPipeline outputPipeline, String expectedRegex, CountDownLatch countDownLatch) {
+        this(null, outputPipeline, expectedRegex, countDownLatch);
+    }
+
+    private AbstractOutputHandler(StringBuffer logBuffer, OutputPipeline outputPipeline, String expectedRegex,
+        CountDownLatch countDownLatch) {
         this.logBuffer = logBuffer;
+        this.outputPipeline = outputPipeline;
         if (expectedRegex != null) {
             expectedPattern = Pattern.compile(expectedRegex);
             this.countDownLatch = countDownLatch;
         }
     }
 
-    public AbstractOutputHandler(StringBuffer logBuffer) {
-        this.logBuffer = logBuffer;
-    }
-
     @Override
     public void consumeLine(String line) {
+        if (expectedPattern != null && countDownLatch != null && countDownLatch.getCount() > 0
+            && !Validate.isNullOrEmpty(line) && expectedPattern.matcher(line).matches()) {
+            countDownLatch.countDown();
+        }
+        if (outputPipeline != null) {
+            outputPipeline.publish(line, quiet ? null : this::printLine, expectedPattern == null);
+            return;
+        }
         if (!quiet) {
             printLine("-> " + line);
         }
         if (expectedPattern == null) {
             logBuffer.append(line).append("\n");
-
-        } else if (countDownLatch != null && countDownLatch.getCount() > 0 && !Validate.isNullOrEmpty(line)) {
-            if (line.matches(expectedPattern.toString())) {
-                countDownLatch.countDown();
-            }
         }
     }
 
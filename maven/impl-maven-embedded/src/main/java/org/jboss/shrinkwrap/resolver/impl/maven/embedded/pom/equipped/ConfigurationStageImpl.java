@@ -2,10 +2,14 @@ package org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped;
 
 import java.io.File;
 import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
 import org.apache.maven.shared.invoker.InvokerLogger;
+import org.jboss.shrinkwrap.impl.base.Validate;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.daemon.WithTimeoutDaemonBuilder;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.pom.equipped.ConfigurationDistributionStage;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.pom.equipped.ConfigurationStage;
@@ -21,6 +25,9 @@ public abstract class ConfigurationStageImpl extends
     BuildStageImpl<ConfigurationStage<ConfigurationDistributionStage, WithTimeoutDaemonBuilder>, WithTimeoutDaemonBuilder>
     implements ConfigurationDistributionStage {
 
+    private static final String MAVEN_DAEMON_BASE_URL =
+        "https://archive.apache.org/dist/maven/mvnd/%version%/maven-mvnd-%version%-%platform%";
+
     private boolean skipTests = true;
 
     @Override
@@ -241,4 +248,70 @@ public abstract class ConfigurationStageImpl extends
         getInvocationRequest().setResumeFrom(resumeFrom);
         return this;
     }
+
+    @Override
+    public ConfigurationDistributionStage useMavenDaemon(File mvndHome) {
+        Validate.notNull(mvndHome, "Maven Daemon installation can not be null!");
+        useInstallation(mvndHome);
+        getInvocationRequest().setMavenExecutable(getMavenDaemonClient(mvndHome));
+        getInvocationRequest().setBatchMode(true);
+        return this;
+    }
+
+    @Override
+    public ConfigurationDistributionStage useMavenDaemon(String version) {
+        try {
+            useDistribution(new URL(MAVEN_DAEMON_BASE_URL.replaceAll("%version%", version)
+                .replaceAll("%platform%", getMavenDaemonPlatform())), true);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return useMavenDaemon(getSetMavenInstallation());
+    }
+
+    @Override
+    public ConfigurationStage<ConfigurationDistributionStage, WithTimeoutDaemonBuilder> useInstallation(File mavenHome) {
+        // a plain Maven installation has to be run by its own mvn script, not by a previously set daemon client
+        getInvocationRequest().setMavenExecutable(null);
+        return super.useInstallation(mavenHome);
+    }
+
+    @Override
+    public ConfigurationStage<ConfigurationDistributionStage, WithTimeoutDaemonBuilder> useLocalInstallation() {
+        getInvocationRequest().setMavenExecutable(null);
+        return super.useLocalInstallation();
+    }
+
+    /**
+     * Returns the client of the given Maven Daemon installation - the native one is preferred, the JVM based one is
+     * used on the platforms the native client isn't shipped for.
+     */
+    private static File getMavenDaemonClient(File mvndHome) {
+        final File binDirectory = new File(mvndHome, "bin");
+        final String[] clients = isWindows()
+            ? new String[] { "mvnd.exe", "mvnd.cmd" }
+            : new String[] { "mvnd", "mvnd.sh" };
+        for (String client : clients) {
+            File clientFile = new File(binDirectory, client);
+            if (clientFile.isFile()) {
+                return clientFile.getAbsoluteFile();
+            }
+        }
+        throw new IllegalArgumentException("No Maven Daemon client " + Arrays.toString(clients)
+            + " has been found in the directory: " + binDirectory);
+    }
+
+    private static String getMavenDaemonPlatform() {
+        final String arch = System.getProperty("os.arch", "").toLowerCase(Locale.ENGLISH);
+        final String cpu = arch.equals("aarch64") || arch.equals("arm64") ? "aarch64" : "amd64";
+        if (isWindows()) {
+            return "windows-" + cpu + ".zip";
+        }
+        final String os = System.getProperty("os.name", "").toLowerCase(Locale.ENGLISH);
+        return (os.contains("mac") ? "darwin-" : "linux-") + cpu + ".tar.gz";
+    }
+
+    private static boolean isWindows() {
+        return System.getProperty("os.name", "").toLowerCase(Locale.ENGLISH).startsWith("windows");
+    }
 }
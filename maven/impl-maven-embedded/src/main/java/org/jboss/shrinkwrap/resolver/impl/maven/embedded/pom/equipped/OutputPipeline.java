@@ -0,0 +1,144 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pipeline of the output of Maven builds. The output handlers only hand the lines over to a single consumer thread that
+ * prints them, retains them in the log and passes them to the listeners, so a slow console doesn't hold up the threads
+ * pumping the output of the Maven process. The queue between them is bounded; when it is full, the pumping threads wait
+ * for the consumer.
+ * <p>
+ * Only the last lines of the output are retained in the log (see {@link #MAX_LOG_LINES_KEY}), the number of the
+ * omitted lines is noted at its beginning.
+ * </p>
+ */
+public class OutputPipeline {
+
+    public static final String MAX_LOG_LINES_KEY = "org.jboss.shrinkwrap.resolver.maven.embedded.maxLogLines";
+    private static final int DEFAULT_MAX_LOG_LINES = 20000;
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Logger log = Logger.getLogger(OutputPipeline.class.getName());
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final Deque<String> logLines = new ArrayDeque<>();
+    private final int maxLogLines;
+    private final ThreadPoolExecutor consumer;
+    private long omittedLines = 0;
+
+    public OutputPipeline() {
+        this(Integer.getInteger(MAX_LOG_LINES_KEY, DEFAULT_MAX_LOG_LINES));
+    }
+
+    OutputPipeline(int maxLogLines) {
+        if (maxLogLines < 1) {
+            throw new IllegalArgumentException("Max number of log lines has to be positive, but was: " + maxLogLines);
+        }
+        this.maxLogLines = maxLogLines;
+        // a single thread that terminates when idle, so the lines are consumed in order and no thread is left behind
+        this.consumer = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "embedded-maven-output-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, executor) -> {
+                // wait for the consumer instead of dropping or reordering the lines
+                try {
+                    executor.getQueue().put(runnable);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+    }
+
+    /**
+     * Registers a listener that is called with every line of the build output. The listeners are called by the consumer
+     * thread in the order of the lines, so they should return quickly.
+     *
+     * @param listener The listener to be called
+     */
+    public void addListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Hands the line over to the consumer thread.
+     *
+     * @param line The line of the build output
+     * @param printer Prints the line, or {@code null} if the line shouldn't be printed
+     * @param retain If the line should be retained in the log
+     */
+    void publish(String line, Consumer<String> printer, boolean retain) {
+        consumer.execute(() -> {
+            if (printer != null) {
+                printer.accept("-> " + line);
+            }
+            if (retain) {
+                retain(line);
+            }
+            for (Consumer<String> listener : listeners) {
+                try {
+                    listener.accept(line);
+                } catch (RuntimeException e) {
+                    log.log(Level.WARNING, "The build output listener " + listener + " has failed", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits until all lines published so far are consumed.
+     */
+    public void flush() {
+        final FutureTask<Void> marker = new FutureTask<>(() -> { }, null);
+        consumer.execute(marker);
+        try {
+            marker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The build output couldn't be consumed", e.getCause());
+        }
+    }
+
+    /**
+     * Returns the retained lines of the build output.
+     *
+     * @return The retained log
+     */
+    public String getLog() {
+        final StringBuilder builder = new StringBuilder();
+        synchronized (logLines) {
+            if (omittedLines > 0) {
+                builder.append("[... ").append(omittedLines).append(" lines omitted ...]\n");
+            }
+            for (String line : logLines) {
+                builder.append(line).append("\n");
+            }
+        }
+        return builder.toString();
+    }
+
+    private void retain(String line) {
+        synchronized (logLines) {
+            if (logLines.size() == maxLogLines) {
+                logLines.removeFirst();
+                omittedLines++;
+            }
+            logLines.addLast(line);
+        }
+    }
+}
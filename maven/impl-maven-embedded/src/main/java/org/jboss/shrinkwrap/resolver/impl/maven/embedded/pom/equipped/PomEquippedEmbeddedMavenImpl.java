@@ -19,6 +19,7 @@ package org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped;
 
 import java.io.File;
 import java.util.Properties;
+import java.util.function.Consumer;
 import org.apache.maven.shared.invoker.DefaultInvocationRequest;
 import org.apache.maven.shared.invoker.DefaultInvoker;
 import org.apache.maven.shared.invoker.InvocationRequest;
@@ -37,7 +38,7 @@ public class PomEquippedEmbeddedMavenImpl extends ConfigurationStageImpl impleme
 
     protected final InvocationRequest request = new DefaultInvocationRequest();
     protected final Invoker invoker = new DefaultInvoker();
-    private final StringBuffer logBuffer = new StringBuffer();
+    private final OutputPipeline outputPipeline = new OutputPipeline();
     private boolean quiet = false;
 
     protected PomEquippedEmbeddedMavenImpl(File pomFile) {
@@ -72,8 +73,8 @@ public class PomEquippedEmbeddedMavenImpl extends ConfigurationStageImpl impleme
         return this;
     }
 
-    protected StringBuffer getLogBuffer(){
-        return logBuffer;
+    protected OutputPipeline getOutputPipeline(){
+        return outputPipeline;
     }
 
     @Override
@@ -88,6 +89,13 @@ public class PomEquippedEmbeddedMavenImpl extends ConfigurationStageImpl impleme
         return this;
     }
 
+    @Override
+    public ConfigurationDistributionStage addOutputListener(Consumer<String> listener) {
+        Validate.notNull(listener, "Output listener can not be null!");
+        outputPipeline.addListener(listener);
+        return this;
+    }
+
     @Override
     protected boolean isQuiet() {
         return quiet;
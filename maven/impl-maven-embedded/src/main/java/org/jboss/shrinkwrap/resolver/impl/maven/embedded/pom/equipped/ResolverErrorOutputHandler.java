@@ -15,6 +15,10 @@ public class ResolverErrorOutputHandler extends AbstractOutputHandler {
         super(logBuffer);
     }
 
+    public ResolverErrorOutputHandler(OutputPipeline outputPipeline, String expectedRegex, CountDownLatch countDownLatch) {
+        super(outputPipeline, expectedRegex, countDownLatch);
+    }
+
     @Override
     protected void printLine(String line) {
         System.err.println(line);
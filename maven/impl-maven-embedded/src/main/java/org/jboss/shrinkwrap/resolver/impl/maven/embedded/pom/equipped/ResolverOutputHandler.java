@@ -15,6 +15,10 @@ public class ResolverOutputHandler extends AbstractOutputHandler {
         super(logBuffer);
     }
 
+    public ResolverOutputHandler(OutputPipeline outputPipeline, String expectedRegex, CountDownLatch countDownLatch) {
+        super(outputPipeline, expectedRegex, countDownLatch);
+    }
+
     @Override
     protected void printLine(String line) {
         System.out.println(line);
@@ -0,0 +1,163 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the downloads against a local HTTP server that supports range requests and can interrupt the transfers.
+ */
+class BinaryDownloaderTestCase {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    @TempDir
+    Path tmpFolder;
+
+    private final byte[] content = new byte[10000];
+    private final List<String> requestedRanges = new CopyOnWriteArrayList<>();
+    private final AtomicInteger transfersToInterrupt = new AtomicInteger();
+    private boolean acceptRanges = true;
+    private String publishedSha512;
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        new Random(42).nextBytes(content);
+        publishedSha512 = DigestUtils.sha512Hex(content);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/dist/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void downloadInSegmentsAndVerifyChecksum() throws IOException {
+        File downloaded = BinaryDownloader.download(tmpFolder.toFile(), distributionUrl(), 4, 1000);
+
+        assertThat(Files.readAllBytes(downloaded.toPath())).isEqualTo(content);
+        assertThat(requestedRanges).containsExactlyInAnyOrder(
+            "bytes=0-2499", "bytes=2500-4999", "bytes=5000-7499", "bytes=7500-9999");
+        // neither the part files nor the marker file is left behind
+        assertThat(tmpFolder.toFile().list()).containsExactly("apache-maven-bin.tar.gz");
+    }
+
+    @Test
+    void resumeDownloadFromPartialFile() throws IOException {
+        Files.write(tmpFolder.resolve("apache-maven-bin.tar.gz.0-9999.part"), Arrays.copyOf(content, 4000));
+
+        File downloaded = BinaryDownloader.download(tmpFolder.toFile(), distributionUrl(), 1, 1000);
+
+        assertThat(Files.readAllBytes(downloaded.toPath())).isEqualTo(content);
+        assertThat(requestedRanges).containsExactly("bytes=4000-9999");
+    }
+
+    @Test
+    void resumeInterruptedTransfer() throws IOException {
+        transfersToInterrupt.set(1);
+
+        File downloaded = BinaryDownloader.download(tmpFolder.toFile(), distributionUrl(), 1, 1000);
+
+        assertThat(Files.readAllBytes(downloaded.toPath())).isEqualTo(content);
+        assertThat(requestedRanges).containsExactly("bytes=0-9999", "bytes=5000-9999");
+    }
+
+    @Test
+    void downloadInSingleStreamWithoutRanges() throws IOException {
+        acceptRanges = false;
+
+        File downloaded = BinaryDownloader.download(tmpFolder.toFile(), distributionUrl(), 4, 1000);
+
+        assertThat(Files.readAllBytes(downloaded.toPath())).isEqualTo(content);
+        assertThat(requestedRanges).containsExactly("");
+    }
+
+    @Test
+    void failOnChecksumMismatch() {
+        publishedSha512 = DigestUtils.sha512Hex("something else");
+
+        assertThatThrownBy(() -> BinaryDownloader.download(tmpFolder.toFile(), distributionUrl(), 4, 1000))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("SHA-512");
+        assertThat(tmpFolder.toFile().list()).isEmpty();
+    }
+
+    private URL distributionUrl() throws IOException {
+        return new URL("http://localhost:" + server.getAddress().getPort() + "/dist/apache-maven-bin.tar.gz");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith(".sha512")) {
+            byte[] checksum = (publishedSha512 + "  apache-maven-bin.tar.gz\n").getBytes(StandardCharsets.US_ASCII);
+            exchange.sendResponseHeaders(200, checksum.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(checksum);
+            }
+            return;
+        }
+        if (acceptRanges) {
+            exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+        }
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().add("Content-Length", String.valueOf(content.length));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        requestedRanges.add(range == null ? "" : range);
+        int from = 0;
+        int to = content.length - 1;
+        if (range != null && acceptRanges) {
+            Matcher matcher = RANGE.matcher(range);
+            assertThat(matcher.matches()).isTrue();
+            from = Integer.parseInt(matcher.group(1));
+            if (!matcher.group(2).isEmpty()) {
+                to = Integer.parseInt(matcher.group(2));
+            }
+            exchange.getResponseHeaders().add("Content-Range", "bytes " + from + "-" + to + "/" + content.length);
+            exchange.sendResponseHeaders(206, to - from + 1);
+        } else {
+            exchange.sendResponseHeaders(200, content.length);
+        }
+        OutputStream outputStream = exchange.getResponseBody();
+        if (transfersToInterrupt.getAndDecrement() > 0) {
+            // send only the first half and drop the connection
+            outputStream.write(content, from, (to - from + 1) / 2);
+            outputStream.flush();
+            exchange.close();
+            return;
+        }
+        outputStream.write(content, from, to - from + 1);
+        outputStream.close();
+    }
+}
@@ -0,0 +1,127 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuiltProject;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.EmbeddedMaven;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jboss.shrinkwrap.resolver.impl.maven.embedded.Utils.pathToJarSamplePom;
+
+class BuildCacheTestCase {
+
+    @RegisterExtension
+    final TestWorkDirExtension workDirExtension = new TestWorkDirExtension();
+
+    @RegisterExtension
+    final SystemOutExtension systemOutExtension = new SystemOutExtension();
+
+    @TempDir
+    Path tmpFolder;
+
+    @Test
+    void fingerprintIgnoresBuildDirectories() throws IOException {
+        Path pom = createProject();
+        BuildCache buildCache = new BuildCache(pom.toFile());
+        String fingerprint = buildCache.fingerprint("goals=[package]");
+
+        write(tmpFolder.resolve("target/classes/Foo.class"), "compiled");
+        write(tmpFolder.resolve("module/target/module.jar"), "archive");
+        write(tmpFolder.resolve(".git/index"), "index");
+        assertThat(buildCache.fingerprint("goals=[package]")).isEqualTo(fingerprint);
+
+        assertThat(buildCache.fingerprint("goals=[install]")).isNotEqualTo(fingerprint);
+        write(tmpFolder.resolve("src/main/java/Foo.java"), "class Foo { int changed; }");
+        assertThat(buildCache.fingerprint("goals=[package]")).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void storedResultIsValidWhileOutputsAreUnchanged() throws IOException {
+        Path pom = createProject();
+        Path output = write(tmpFolder.resolve("module/target/classes.lst"), "Foo.class");
+        BuiltProjectImpl builtProject = new BuiltProjectImpl(pom.toFile());
+        builtProject.setMavenLog("BUILD SUCCESS\n");
+        BuildCache buildCache = new BuildCache(pom.toFile());
+        String fingerprint = buildCache.fingerprint("goals=[package]");
+
+        assertThat(buildCache.isUpToDate(fingerprint, builtProject)).isFalse();
+        buildCache.store(fingerprint, builtProject);
+
+        assertThat(buildCache.isUpToDate(fingerprint, builtProject)).isTrue();
+        assertThat(buildCache.getMavenLog()).isEqualTo("BUILD SUCCESS\n");
+        assertThat(buildCache.isUpToDate(buildCache.fingerprint("goals=[install]"), builtProject)).isFalse();
+
+        Files.delete(output);
+        assertThat(buildCache.isUpToDate(fingerprint, builtProject)).isFalse();
+    }
+
+    @Test
+    void storedResultIsValidWhileBuiltArchivesAreUnchanged() throws IOException {
+        Path pom = createProject();
+        // the module is built into a nested directory of target, which is not listed among the target files
+        Path archive = write(tmpFolder.resolve("module/target/dist/module.jar"), "archive");
+        BuiltProjectImpl builtProject = new BuiltProjectImpl(pom.toFile());
+        assertThat(builtProject.getModule("module").getDefaultBuiltArchiveFile())
+            .isEqualTo(archive.toFile().getAbsoluteFile());
+        BuildCache buildCache = new BuildCache(pom.toFile());
+        String fingerprint = buildCache.fingerprint("goals=[package]");
+
+        buildCache.store(fingerprint, builtProject);
+        assertThat(buildCache.isUpToDate(fingerprint, builtProject)).isTrue();
+
+        write(archive, "modified archive");
+        assertThat(buildCache.isUpToDate(fingerprint, builtProject)).isFalse();
+
+        buildCache.store(fingerprint, builtProject);
+        Files.delete(archive);
+        assertThat(buildCache.isUpToDate(fingerprint, builtProject)).isFalse();
+    }
+
+    @Test
+    void skipUpToDateBuild() {
+        File pom = workDirExtension.prepareProject(pathToJarSamplePom);
+        BuiltProject builtProject = EmbeddedMaven
+            .forProject(pom)
+            .setGoals("clean", "package")
+            .useLocalInstallation()
+            .useBuildCache()
+            .build();
+        assertThat(systemOutExtension.getLog()).doesNotContain("Embedded Maven build skipped as up to date");
+
+        systemOutExtension.clearLog();
+        BuiltProject cachedProject = EmbeddedMaven
+            .forProject(pom)
+            .setGoals("clean", "package")
+            .useLocalInstallation()
+            .useBuildCache()
+            .build();
+
+        assertThat(systemOutExtension.getLog()).contains("Embedded Maven build skipped as up to date")
+            .doesNotContain("BUILD SUCCESS");
+        assertThat(cachedProject.getMavenLog()).isEqualTo(builtProject.getMavenLog());
+        assertThat(cachedProject.getDefaultBuiltArchive().getName())
+            .isEqualTo(builtProject.getDefaultBuiltArchive().getName());
+    }
+
+    private Path createProject() throws IOException {
+        write(tmpFolder.resolve("module/pom.xml"), "<project><modelVersion>4.0.0</modelVersion>"
+            + "<groupId>test</groupId><artifactId>module</artifactId><version>1.0</version>"
+            + "<build><directory>${project.basedir}/target/dist</directory><finalName>module</finalName></build>"
+            + "</project>");
+        write(tmpFolder.resolve("src/main/java/Foo.java"), "class Foo { }");
+        return write(tmpFolder.resolve("pom.xml"), "<project><modelVersion>4.0.0</modelVersion>"
+            + "<groupId>test</groupId><artifactId>parent</artifactId><version>1.0</version><packaging>pom</packaging>"
+            + "<modules><module>module</module></modules></project>");
+    }
+
+    private Path write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,7 +2,10 @@ package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -21,6 +24,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.jboss.shrinkwrap.resolver.impl.maven.embedded.Utils.pathToJarSamplePom;
 
@@ -63,6 +67,9 @@ class ConfigurationStageTestCase {
     @InjectSoftAssertions
     private SoftAssertions softly;
 
+    @TempDir
+    Path tmpFolder;
+
     @Test
     void runTest() {
         File jarSamplePom = workDirExtension.prepareProject(pathToJarSamplePom);
@@ -126,6 +133,36 @@ class ConfigurationStageTestCase {
         softly.assertThat(invocationRequest.getMavenHome().getName()).isEqualTo("apache-maven-3.3.9");
     }
 
+    @Test
+    void useMavenDaemonInstallation() throws IOException {
+        File jarSamplePom = workDirExtension.prepareProject(pathToJarSamplePom);
+        File mvndHome = tmpFolder.resolve("maven-mvnd").toFile();
+        Path binDirectory = Files.createDirectories(mvndHome.toPath().resolve("bin"));
+        String client = System.getProperty("os.name").toLowerCase().startsWith("windows") ? "mvnd.cmd" : "mvnd.sh";
+        Files.createFile(binDirectory.resolve(client));
+
+        ConfigurationStageImpl configurationStageImpl =
+            (ConfigurationStageImpl) EmbeddedMaven.forProject(jarSamplePom).useMavenDaemon(mvndHome);
+        InvocationRequest invocationRequest = configurationStageImpl.getInvocationRequest();
+
+        softly.assertThat(configurationStageImpl.getSetMavenInstallation()).isEqualTo(mvndHome);
+        softly.assertThat(invocationRequest.getMavenExecutable())
+            .isEqualTo(binDirectory.resolve(client).toFile().getAbsoluteFile());
+        softly.assertThat(invocationRequest.isBatchMode()).isTrue();
+
+        // switching back to a plain Maven installation drops the daemon client
+        configurationStageImpl.useInstallation(tmpFolder.toFile());
+        softly.assertThat(invocationRequest.getMavenExecutable()).isNull();
+    }
+
+    @Test
+    void useMavenDaemonWithoutClient() {
+        File jarSamplePom = workDirExtension.prepareProject(pathToJarSamplePom);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> EmbeddedMaven.forProject(jarSamplePom).useMavenDaemon(tmpFolder.toFile()));
+    }
+
     private ConfigurationStageImpl getConfigurationStageImpl(File jarSamplePom) {
         ConfigurationStage<ConfigurationDistributionStage, WithTimeoutDaemonBuilder> configurationStage =
             EmbeddedMaven.forProject(jarSamplePom)
@@ -0,0 +1,94 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DistributionCacheTestCase {
+
+    @TempDir
+    Path tmpFolder;
+
+    @Test
+    void extractOnceAndShareBetweenProjects() throws IOException {
+        File archive = createDistribution(tmpFolder.resolve("apache-maven-bin.zip"));
+        File cacheDir = tmpFolder.resolve("cache").toFile();
+
+        File first = new DistributionCache(cacheDir, tmpFolder.resolve("first").toFile()).extract(archive);
+        File second = new DistributionCache(cacheDir, tmpFolder.resolve("second").toFile()).extract(archive);
+
+        // every project gets its own copy of the distribution instead of a link into the cache
+        assertThat(first.toPath()).isEqualTo(tmpFolder.resolve("first").resolve(first.getName()));
+        assertThat(second.toPath()).isEqualTo(tmpFolder.resolve("second").resolve(second.getName()));
+        assertThat(Files.isSymbolicLink(first.toPath())).isFalse();
+        assertThat(first.toPath().resolve("apache-maven/bin/mvn")).hasContent("#!/bin/sh");
+        assertThat(second.toPath().resolve("apache-maven/bin/mvn")).hasContent("#!/bin/sh");
+        assertThat(tmpFolder.resolve("first").toFile().list()).containsExactly(first.getName());
+        // only the extracted distribution and its lock file are left in the cache
+        String key = DigestUtils.sha512Hex(Files.readAllBytes(archive.toPath())).substring(0, 32);
+        assertThat(cacheDir.toPath().resolve("extracted").toFile().list())
+            .containsExactlyInAnyOrder(key, key + ".lock");
+    }
+
+    @Test
+    void leftoverTemporaryDirectoriesAreRemoved() throws IOException {
+        File archive = createDistribution(tmpFolder.resolve("apache-maven-bin.zip"));
+        File cacheDir = tmpFolder.resolve("cache").toFile();
+        String key = DigestUtils.sha512Hex(Files.readAllBytes(archive.toPath())).substring(0, 32);
+        Path leftover = cacheDir.toPath().resolve("extracted").resolve(key + ".tmp1234");
+        Files.createDirectories(leftover.resolve("apache-maven/bin"));
+        Files.write(leftover.resolve("apache-maven/bin/mvn"), "#!/bin/sh".getBytes(StandardCharsets.US_ASCII));
+
+        DistributionCache cache = new DistributionCache(cacheDir, tmpFolder.resolve("project").toFile());
+        assertThat(leftover).doesNotExist();
+
+        cache.extract(archive);
+        assertThat(cacheDir.toPath().resolve("extracted").toFile().list())
+            .containsExactlyInAnyOrder(key, key + ".lock");
+    }
+
+    @Test
+    void checksumIsStoredNextToArchive() throws IOException {
+        File archive = createDistribution(tmpFolder.resolve("apache-maven-bin.zip"));
+        DistributionCache cache = new DistributionCache(tmpFolder.toFile(), tmpFolder.resolve("project").toFile());
+
+        String checksum = cache.getChecksum(archive);
+        Path sidecar = tmpFolder.resolve("apache-maven-bin.zip.sha512");
+        assertThat(checksum).isEqualTo(DigestUtils.sha512Hex(Files.readAllBytes(archive.toPath())));
+        assertThat(sidecar).hasContent(checksum);
+
+        // the stored checksum is used as long as the archive isn't newer
+        char[] stored = new char[128];
+        Arrays.fill(stored, 'a');
+        Files.write(sidecar, new String(stored).getBytes(StandardCharsets.US_ASCII));
+        assertThat(cache.getChecksum(archive)).isEqualTo(new String(stored));
+
+        assertThat(archive.setLastModified(sidecar.toFile().lastModified() + 10000)).isTrue();
+        assertThat(cache.getChecksum(archive)).isEqualTo(checksum);
+    }
+
+    private File createDistribution(Path archive) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(archive);
+             ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry("apache-maven/"));
+            zipOutputStream.closeEntry();
+            zipOutputStream.putNextEntry(new ZipEntry("apache-maven/bin/"));
+            zipOutputStream.closeEntry();
+            zipOutputStream.putNextEntry(new ZipEntry("apache-maven/bin/mvn"));
+            zipOutputStream.write("#!/bin/sh".getBytes(StandardCharsets.US_ASCII));
+            zipOutputStream.closeEntry();
+        }
+        return archive.toFile();
+    }
+}
@@ -2,18 +2,34 @@ package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.jboss.shrinkwrap.resolver.impl.maven.embedded.DistributionStageImpl.MAVEN_TARGET_DIR;
 
 class FileExtractorTestCase {
@@ -21,6 +37,10 @@ class FileExtractorTestCase {
    @RegisterExtension
    final SystemOutExtension systemOutExtension = new SystemOutExtension();
    private final File targetMavenDir = new File(MAVEN_TARGET_DIR);
+   private final Map<String, byte[]> distributionFiles = new LinkedHashMap<>();
+
+   @TempDir
+   Path tmpFolder;
 
    @BeforeEach
    void cleanup() throws IOException {
@@ -56,6 +76,83 @@ class FileExtractorTestCase {
          expMsg).isTrue();
    }
 
+   @Test
+   void testExtractTarGz() throws IOException {
+      File archive = tmpFolder.resolve("distribution.tar.gz").toFile();
+      try (OutputStream outputStream = new GzipCompressorOutputStream(Files.newOutputStream(archive.toPath()));
+           TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(outputStream)) {
+         writeDistribution(tarOutputStream, name -> new TarArchiveEntry(name));
+      }
+
+      File extracted = FileExtractor.extract(archive, tmpFolder.resolve("extracted").toFile());
+
+      verifyExtractedDistribution(extracted.toPath());
+   }
+
+   @Test
+   void testExtractZip() throws IOException {
+      File archive = tmpFolder.resolve("distribution.zip").toFile();
+      try (ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(archive)) {
+         writeDistribution(zipOutputStream, name -> new ZipArchiveEntry(name));
+      }
+
+      File extracted = FileExtractor.extract(archive, tmpFolder.resolve("extracted").toFile());
+
+      verifyExtractedDistribution(extracted.toPath());
+   }
+
+   @Test
+   void testFailingExtractionIsReportedAndCleaned() throws IOException {
+      File archive = tmpFolder.resolve("corrupted.tar.gz").toFile();
+      Files.write(archive.toPath(), "not a gzip".getBytes(StandardCharsets.US_ASCII));
+      File destination = tmpFolder.resolve("extracted").toFile();
+
+      assertThatThrownBy(() -> FileExtractor.extract(archive, destination))
+         .isInstanceOf(IllegalStateException.class)
+         .hasMessageContaining(archive.getName());
+      assertThat(destination).doesNotExist();
+   }
+
+   private <E extends ArchiveEntry> void writeDistribution(ArchiveOutputStream<E> outputStream,
+      EntryFactory<E> entryFactory) throws IOException {
+      Random random = new Random(7);
+      distributionFiles.put("apache-maven/bin/mvn", "#!/bin/sh".getBytes(StandardCharsets.US_ASCII));
+      for (int i = 0; i < 100; i++) {
+         byte[] content = new byte[random.nextInt(4096)];
+         random.nextBytes(content);
+         distributionFiles.put("apache-maven/lib/library-" + i + ".jar", content);
+      }
+      // bigger than the entries queued for the writing threads
+      byte[] big = new byte[2 * 1024 * 1024];
+      random.nextBytes(big);
+      distributionFiles.put("apache-maven/lib/big.jar", big);
+
+      for (Map.Entry<String, byte[]> file : distributionFiles.entrySet()) {
+         E entry = entryFactory.create(file.getKey());
+         if (entry instanceof TarArchiveEntry) {
+            ((TarArchiveEntry) entry).setSize(file.getValue().length);
+            ((TarArchiveEntry) entry).setMode(file.getKey().endsWith("mvn") ? 0100755 : 0100644);
+         } else {
+            ((ZipArchiveEntry) entry).setUnixMode(file.getKey().endsWith("mvn") ? 0100755 : 0100644);
+         }
+         outputStream.putArchiveEntry(entry);
+         outputStream.write(file.getValue());
+         outputStream.closeArchiveEntry();
+      }
+   }
+
+   private void verifyExtractedDistribution(Path extracted) throws IOException {
+      for (Map.Entry<String, byte[]> file : distributionFiles.entrySet()) {
+         assertThat(Files.readAllBytes(extracted.resolve(file.getKey()))).isEqualTo(file.getValue());
+      }
+      assertThat(extracted.resolve("apache-maven/bin/mvn").toFile().canExecute()).isTrue();
+      assertThat(extracted.resolve("extractionIsProcessing.tmp")).doesNotExist();
+   }
+
+   private interface EntryFactory<E extends ArchiveEntry> {
+      E create(String name);
+   }
+
    private Thread createThreadWithExtract(final CountDownLatch startLatch, final CountDownLatch stopLatch,
        final File downloaded) {
       return new Thread(() -> {
@@ -0,0 +1,121 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.shared.invoker.InvocationRequest;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuiltProject;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.EmbeddedMaven;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.ParallelEmbeddedMaven;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.StandardBuilder;
+import org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped.ConfigurationStageImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.jboss.shrinkwrap.resolver.impl.maven.embedded.Utils.pathToJarSamplePom;
+
+class ParallelEmbeddedMavenTestCase {
+
+    @RegisterExtension
+    final TestWorkDirExtension workDirExtension = new TestWorkDirExtension();
+
+    @Test
+    void buildsAreRunConcurrentlyUpToMaxParallelism() throws Exception {
+        final CountDownLatch started = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<CompletableFuture<BuiltProject>> futures = new ArrayList<>();
+
+        try (ParallelEmbeddedMaven parallel = EmbeddedMaven.inParallel().setMaxParallelism(2)) {
+            for (int i = 0; i < 5; i++) {
+                futures.add(parallel.submit(new BlockingBuilder(started, release, running, maxRunning)));
+            }
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(running.get()).isEqualTo(2);
+            release.countDown();
+        }
+        for (CompletableFuture<BuiltProject> future : futures) {
+            assertThat(future.get(10, TimeUnit.SECONDS)).isNull();
+        }
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void memoryBudgetLimitsParallelismAndHeap() {
+        File jarSamplePom = workDirExtension.prepareProject(pathToJarSamplePom);
+        ConfigurationStageImpl build = (ConfigurationStageImpl) EmbeddedMaven.forProject(jarSamplePom)
+            .setMavenOpts("-Dfoo=bar");
+        InvocationRequest request = build.getInvocationRequest();
+
+        ParallelEmbeddedMavenImpl parallel = new ParallelEmbeddedMavenImpl();
+        parallel.setMaxParallelism(8).setMemoryBudget(2048, 768);
+        assertThat(parallel.getParallelism()).isEqualTo(2);
+
+        parallel.applyMemoryBudget(build);
+        assertThat(request.getMavenOpts()).isEqualTo("-Dfoo=bar -Xmx768m");
+
+        // the heap size set by the user is kept
+        request.setMavenOpts("-Xmx256m");
+        parallel.applyMemoryBudget(build);
+        assertThat(request.getMavenOpts()).isEqualTo("-Xmx256m");
+    }
+
+    @Test
+    void limitsCantBeChangedOnceStarted() {
+        ParallelEmbeddedMaven parallel = EmbeddedMaven.inParallel();
+        parallel.submit(new BlockingBuilder(new CountDownLatch(0), new CountDownLatch(0), new AtomicInteger(),
+            new AtomicInteger()));
+        parallel.close();
+
+        assertThatThrownBy(() -> parallel.setMaxParallelism(1)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> parallel.submit(new BlockingBuilder(new CountDownLatch(0), new CountDownLatch(0),
+            new AtomicInteger(), new AtomicInteger()))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static class BlockingBuilder implements StandardBuilder {
+
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+        private final AtomicInteger running;
+        private final AtomicInteger maxRunning;
+
+        BlockingBuilder(CountDownLatch started, CountDownLatch release, AtomicInteger running,
+            AtomicInteger maxRunning) {
+            this.started = started;
+            this.release = release;
+            this.running = running;
+            this.maxRunning = maxRunning;
+        }
+
+        @Override
+        public BuiltProject build() {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return null;
+        }
+
+        @Override
+        public StandardBuilder ignoreFailure(boolean ignoreFailure) {
+            return this;
+        }
+
+        @Override
+        public StandardBuilder ignoreFailure() {
+            return this;
+        }
+    }
+}
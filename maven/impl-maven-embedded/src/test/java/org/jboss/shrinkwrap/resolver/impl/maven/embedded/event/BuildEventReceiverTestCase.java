@@ -0,0 +1,73 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded.event;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.jar.JarFile;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuildEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildEventReceiverTestCase {
+
+    @Test
+    void configureSpyAndRestoreProperties() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(BuildEventReceiver.EXT_CLASS_PATH_PROPERTY, "extension.jar");
+        BuildEventReceiver receiver = new BuildEventReceiver(Collections.<Consumer<BuildEvent>>emptyList());
+
+        receiver.configure(properties);
+
+        String[] extClassPath = properties.getProperty(BuildEventReceiver.EXT_CLASS_PATH_PROPERTY)
+            .split(File.pathSeparator);
+        assertThat(extClassPath[0]).isEqualTo("extension.jar");
+        try (JarFile spyJar = new JarFile(extClassPath[1])) {
+            assertThat(spyJar.getEntry("org/jboss/shrinkwrap/resolver/impl/maven/embedded/event/BuildEventSpy.class"))
+                .isNotNull();
+            assertThat(spyJar.getEntry("META-INF/plexus/components.xml")).isNotNull();
+        }
+        assertThat(properties.getProperty(BuildEventSpy.PORT_PROPERTY)).isNotNull();
+
+        receiver.close();
+        assertThat(properties.getProperty(BuildEventReceiver.EXT_CLASS_PATH_PROPERTY)).isEqualTo("extension.jar");
+        assertThat(properties.getProperty(BuildEventSpy.PORT_PROPERTY)).isNull();
+    }
+
+    @Test
+    void passReceivedEventsToListeners() throws IOException {
+        List<BuildEvent> events = new CopyOnWriteArrayList<>();
+        Properties properties = new Properties();
+        BuildEventReceiver receiver = new BuildEventReceiver(Collections.<Consumer<BuildEvent>>singletonList(events::add));
+        receiver.configure(properties);
+
+        int port = Integer.parseInt(properties.getProperty(BuildEventSpy.PORT_PROPERTY));
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             OutputStream outputStream = socket.getOutputStream()) {
+            outputStream.write(("SESSION_STARTED\t\t\t1000\t-1\t\n"
+                + "MOJO_FAILED\tg:a:1.0\tp:compiler:3.1:compile (default-compile)\t1500\t200\tCompilation failure\n"
+                + "UNKNOWN\t\t\t1600\t-1\t\n")
+                .getBytes(StandardCharsets.UTF_8));
+        }
+        receiver.close();
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getType()).isEqualTo(BuildEvent.Type.SESSION_STARTED);
+        assertThat(events.get(0).getProject()).isNull();
+        BuildEvent mojoFailed = events.get(1);
+        assertThat(mojoFailed.getType()).isEqualTo(BuildEvent.Type.MOJO_FAILED);
+        assertThat(mojoFailed.getProject()).isEqualTo("g:a:1.0");
+        assertThat(mojoFailed.getMojo()).isEqualTo("p:compiler:3.1:compile (default-compile)");
+        assertThat(mojoFailed.getTimestamp()).isEqualTo(1500L);
+        assertThat(mojoFailed.getDuration()).isEqualTo(200L);
+        assertThat(mojoFailed.getFailure()).isEqualTo("Compilation failure");
+    }
+}
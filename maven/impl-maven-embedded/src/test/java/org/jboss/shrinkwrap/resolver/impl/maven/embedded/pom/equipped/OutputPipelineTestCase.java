@@ -0,0 +1,65 @@
+package org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutputPipelineTestCase {
+
+    @Test
+    void retainOnlyLastLinesOfLog() {
+        OutputPipeline outputPipeline = new OutputPipeline(3);
+        ResolverOutputHandler outputHandler = new ResolverOutputHandler(outputPipeline, null, null);
+        outputHandler.setQuiet(true);
+
+        for (int i = 1; i <= 5; i++) {
+            outputHandler.consumeLine("line " + i);
+        }
+        outputPipeline.flush();
+
+        assertThat(outputPipeline.getLog()).isEqualTo("[... 2 lines omitted ...]\nline 3\nline 4\nline 5\n");
+    }
+
+    @Test
+    void streamLinesToListenersInOrder() {
+        OutputPipeline outputPipeline = new OutputPipeline(10);
+        List<String> printed = new CopyOnWriteArrayList<>();
+        List<String> streamed = new CopyOnWriteArrayList<>();
+        outputPipeline.addListener(streamed::add);
+        outputPipeline.addListener(line -> {
+            throw new IllegalStateException("failing listener");
+        });
+        AbstractOutputHandler outputHandler = new AbstractOutputHandler(outputPipeline, null, null) {
+            @Override
+            protected void printLine(String line) {
+                printed.add(line);
+            }
+        };
+
+        outputHandler.consumeLine("first");
+        outputHandler.consumeLine("second");
+        outputPipeline.flush();
+
+        assertThat(printed).containsExactly("-> first", "-> second");
+        assertThat(streamed).containsExactly("first", "second");
+    }
+
+    @Test
+    void countDownOnExpectedLineWithoutRetainingLog() {
+        OutputPipeline outputPipeline = new OutputPipeline(10);
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+        ResolverOutputHandler outputHandler = new ResolverOutputHandler(outputPipeline, ".*Started.*", countDownLatch);
+        outputHandler.setQuiet(true);
+
+        outputHandler.consumeLine("Starting");
+        assertThat(countDownLatch.getCount()).isEqualTo(1L);
+        outputHandler.consumeLine("Server Started in 1s");
+        assertThat(countDownLatch.getCount()).isEqualTo(0L);
+
+        outputPipeline.flush();
+        assertThat(outputPipeline.getLog()).isEmpty();
+    }
+}
@@ -2,9 +2,14 @@ package org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.maven.shared.invoker.InvokerLogger;
 import org.apache.maven.shared.invoker.PrintStreamLogger;
 import org.assertj.core.api.Assertions;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Filters;
+import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuildEvent;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuiltProject;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.EmbeddedMaven;
 import org.jboss.shrinkwrap.resolver.impl.maven.embedded.TestWorkDirExtension;
@@ -36,6 +41,46 @@ class PomEquippedEmbeddedMavenForJarSampleTestCase {
         verifyJarSampleContainsOnlyOneJar(builtProject);
     }
 
+    @Test
+    void testJarSampleBuildWithFilteredArchive() {
+        BuiltProject builtProject = EmbeddedMaven
+            .forProject(workDirExtension.prepareProject(pathToJarSamplePom))
+            .setGoals("clean", "verify")
+            .useLocalInstallation()
+            .build();
+
+        Assertions.assertThat(builtProject.getDefaultBuiltArchiveFile())
+            .isFile()
+            .hasName(builtProject.getDefaultBuiltArchive().getName());
+
+        Archive<?> filtered = builtProject.getDefaultBuiltArchive(Filters.include("/main\\.properties"));
+        Assertions.assertThat(filtered.contains("/main.properties")).isTrue();
+        Assertions.assertThat(filtered.contains("/test/nested/NestedJarClass.class")).isFalse();
+    }
+
+    @Test
+    void testJarSampleBuildWithBuildEventListener() {
+        List<BuildEvent> events = new CopyOnWriteArrayList<>();
+        EmbeddedMaven
+            .forProject(workDirExtension.prepareProject(pathToJarSamplePom))
+            .setGoals("clean", "verify")
+            .useLocalInstallation()
+            .addBuildEventListener(events::add)
+            .build();
+
+        Assertions.assertThat(events).isNotEmpty();
+        Assertions.assertThat(events.get(0).getType()).isEqualTo(BuildEvent.Type.SESSION_STARTED);
+        Assertions.assertThat(events.get(events.size() - 1).getType()).isEqualTo(BuildEvent.Type.SESSION_ENDED);
+        Assertions.assertThat(events)
+            .anySatisfy(event -> {
+                Assertions.assertThat(event.getType()).isEqualTo(BuildEvent.Type.MOJO_SUCCEEDED);
+                Assertions.assertThat(event.getMojo()).contains("maven-jar-plugin").contains(":jar ");
+                Assertions.assertThat(event.getProject())
+                    .contains(":shrinkwrap-resolver-impl-maven-embedded-integration-tests-jar:");
+                Assertions.assertThat(event.getDuration()).isGreaterThanOrEqualTo(0L);
+            });
+    }
+
     @Test
     void testJarSampleBuildWithDebugLoggerLevelShouldDisplayCommand() {
         ByteArrayOutputStream logOutputStream = new ByteArrayOutputStream();
@@ -1,9 +1,11 @@
 package org.jboss.shrinkwrap.resolver.impl.maven.embedded.pom.equipped;
 
 import java.io.File;
+import java.util.List;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.BuiltProject;
 import org.jboss.shrinkwrap.resolver.api.maven.embedded.EmbeddedMaven;
 import org.jboss.shrinkwrap.resolver.impl.maven.embedded.TestWorkDirExtension;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
@@ -56,6 +58,25 @@ class PomEquippedEmbeddedMavenForMultiModuleSampleTestCase {
         verifyMultiModuleSampleWasCleaned(builtProject);
     }
 
+    @Test
+    void testMultiModuleSampleModulesAreShared() {
+        BuiltProject builtProject = EmbeddedMaven
+            .forProject(workDirExtension.prepareProject(pathToMultiModulePom))
+            .setGoals("clean")
+            .addProperty(multiModuleactivateModulesParamKey, multiModuleactivateModulesParamValue)
+            .addProperty(archiveNameModuleTwoParamKey, archiveNameModuleTwoParamValue)
+            .build();
+
+        List<BuiltProject> modules = builtProject.getModules();
+        Assertions.assertEquals(2, modules.size(), "there should be two modules");
+        Assertions.assertSame(modules.get(0), builtProject.getModule("module-one"));
+        Assertions.assertSame(modules.get(1), builtProject.getModule("module-two"));
+        Assertions.assertEquals("shrinkwrap-resolver-impl-maven-embedded-integration-tests-module-one",
+            modules.get(0).getModel().getArtifactId());
+        Assertions.assertEquals("shrinkwrap-resolver-impl-maven-embedded-integration-tests-module-two",
+            modules.get(1).getModel().getArtifactId());
+    }
+
     @Test
     void testMultiModuleSampleBuildWithoutModulesActivated() {
         BuiltProject builtProject = EmbeddedMaven
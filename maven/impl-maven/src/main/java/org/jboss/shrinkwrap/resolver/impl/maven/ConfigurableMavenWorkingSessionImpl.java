@@ -22,6 +22,8 @@ import java.util.logging.Logger;
 
 import org.apache.maven.settings.Settings;
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.util.repository.ChainedWorkspaceReader;
 import org.jboss.shrinkwrap.resolver.api.InvalidConfigurationFileException;
 import org.jboss.shrinkwrap.resolver.api.maven.MavenWorkingSession;
 import org.jboss.shrinkwrap.resolver.impl.maven.bootstrap.MavenRepositorySystem;
@@ -54,12 +56,30 @@ public abstract class ConfigurableMavenWorkingSessionImpl implements MavenWorkin
     private final MavenRepositorySystem system;
     private boolean disableClassPathWorkspaceReader = false;
     private boolean skipCompilation = false;
+    private WorkspaceReader workspaceReader;
 
     public ConfigurableMavenWorkingSessionImpl() {
         this.system = new MavenRepositorySystem();
         this.settingsManager = new SettingsManager();
     }
 
+    /**
+     * Creates a session which shares the repository system, the settings and the caches of the repository session with
+     * the given session. The repository session itself is copied, so the changes done during a resolution do not leak
+     * into the given session.
+     *
+     * @param parent the session to share the configuration with
+     */
+    protected ConfigurableMavenWorkingSessionImpl(ConfigurableMavenWorkingSessionImpl parent) {
+        this.system = parent.system;
+        this.settingsManager = parent.settingsManager;
+        this.useLegacyLocalRepository = parent.useLegacyLocalRepository;
+        this.disableClassPathWorkspaceReader = parent.disableClassPathWorkspaceReader;
+        this.skipCompilation = parent.skipCompilation;
+        this.workspaceReader = parent.workspaceReader;
+        this.session = new DefaultRepositorySystemSession(parent.getSession());
+    }
+
     @Override
     public MavenWorkingSession configureSettingsFromFile(File globalSettings, File userSettings)
         throws InvalidConfigurationFileException {
@@ -67,6 +87,17 @@ public abstract class ConfigurableMavenWorkingSessionImpl implements MavenWorkin
         return regenerateSession();
     }
 
+    /**
+     * Configures the session with already built effective settings, skipping the settings building.
+     *
+     * @param settings the effective settings
+     * @return Modified session instance
+     */
+    public MavenWorkingSession configureSettings(Settings settings) {
+        this.settingsManager.configureSettings(settings);
+        return regenerateSession();
+    }
+
     @Override
     public MavenWorkingSession regenerateSession() {
         generateSession();
@@ -89,6 +120,18 @@ public abstract class ConfigurableMavenWorkingSessionImpl implements MavenWorkin
         disableClassPathWorkspaceReader = true;
     }
 
+    /**
+     * Adds a workspace reader which is asked for artifacts before the current workspace reader of the session, so the
+     * artifacts it provides are preferred to the ones found in the class path or in the repositories.
+     *
+     * @param workspaceReader the workspace reader
+     */
+    public void addWorkspaceReader(WorkspaceReader workspaceReader) {
+        this.workspaceReader = ChainedWorkspaceReader.newInstance(workspaceReader, this.workspaceReader);
+        getSession().setWorkspaceReader(ChainedWorkspaceReader.newInstance(workspaceReader,
+            getSession().getWorkspaceReader()));
+    }
+
     @Override
     public void useLegacyLocalRepository(boolean useLegacyLocalRepository) {
         if (this.useLegacyLocalRepository == useLegacyLocalRepository) {
@@ -169,5 +212,9 @@ public abstract class ConfigurableMavenWorkingSessionImpl implements MavenWorkin
         if (this.disableClassPathWorkspaceReader) {
             this.session.setWorkspaceReader(null);
         }
+        if (this.workspaceReader != null) {
+            this.session.setWorkspaceReader(ChainedWorkspaceReader.newInstance(this.workspaceReader,
+                this.session.getWorkspaceReader()));
+        }
     }
 }
@@ -45,7 +45,8 @@ import org.jboss.shrinkwrap.resolver.spi.format.FormatProcessor;
 import org.jboss.shrinkwrap.resolver.spi.format.FormatProcessors;
 
 /**
- * Immutable implementation of {@link MavenResolvedArtifact}.
+ * Thread-safe implementation of {@link MavenResolvedArtifact}. All its state is fixed on construction, except for the
+ * file of a reactor related dependency, which is packaged lazily on the first call of {@link #asFile()}.
  *
  * @author <a href="mailto:mmatloka@gmail.com">Michal Matloka</a>
  * @author <a href="mailto:kpiwko@redhat.com">Karel Piwko</a>
@@ -54,18 +55,21 @@ public class MavenResolvedArtifactImpl extends MavenArtifactInfoImpl implements
 
     private static final Logger log = Logger.getLogger(MavenResolvedArtifactImpl.class.getName());
 
-    private final File file;
+    // artifact the file is lazily derived from, see #asFile()
+    private final Artifact artifact;
+    private volatile File file;
 
     private MavenResolvedArtifactImpl(MavenCoordinate mavenCoordinate, String resolvedVersion, boolean snapshotVersion,
             String extension, File file, ScopeType scopeType, MavenArtifactInfo[] dependencies) {
         super(mavenCoordinate, resolvedVersion, snapshotVersion, extension, scopeType, dependencies, false);
+        this.artifact = null;
         this.file = file;
     }
 
     private MavenResolvedArtifactImpl(final Artifact artifact, final ScopeType scopeType,
             final List<DependencyNode> children, boolean optional) {
         super(artifact, scopeType, children, optional);
-        this.file = artifactToFile(artifact);
+        this.artifact = artifact;
     }
 
     /**
@@ -105,9 +109,23 @@ public class MavenResolvedArtifactImpl extends MavenArtifactInfoImpl implements
         return processor.process(this, returnType);
     }
 
+    /**
+     * Returns the file of the artifact. Reactor related dependencies are packaged on the first invocation, so the cost of
+     * packaging is paid by the caller which actually needs the file, possibly concurrently for different artifacts.
+     */
     @Override
     public File asFile() {
-        return file;
+        File result = file;
+        if (result == null) {
+            synchronized (this) {
+                result = file;
+                if (result == null) {
+                    result = artifactToFile(artifact);
+                    file = result;
+                }
+            }
+        }
+        return result;
     }
 
     @Override
@@ -47,6 +47,7 @@ import org.apache.maven.model.building.ModelBuilder;
 import org.apache.maven.model.building.ModelBuildingException;
 import org.apache.maven.model.building.ModelBuildingRequest;
 import org.apache.maven.model.building.ModelBuildingResult;
+import org.apache.maven.model.building.ModelCache;
 import org.apache.maven.model.building.ModelProblem;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
@@ -112,6 +113,7 @@ public class MavenWorkingSessionImpl extends ConfigurableMavenWorkingSessionImpl
      */
     private final Set<MavenDependency> declaredDependencies;
     private Model model;
+    private volatile ParsedPomFile parsedPomFile;
 
     private final List<RemoteRepository> remoteRepositories;
 
@@ -119,6 +121,11 @@ public class MavenWorkingSessionImpl extends ConfigurableMavenWorkingSessionImpl
 
     private boolean useMavenCentralRepository = true;
 
+    /**
+     * Cache of raw and imported models shared by model building requests, might be {@code null}
+     */
+    private final ModelCache modelCache;
+
     public MavenWorkingSessionImpl() {
         super();
         this.remoteRepositories = new ArrayList<>();
@@ -127,6 +134,28 @@ public class MavenWorkingSessionImpl extends ConfigurableMavenWorkingSessionImpl
         this.dependencies = new ArrayList<>();
         this.dependencyManagement = new LinkedHashSet<>();
         this.declaredDependencies = new LinkedHashSet<>();
+        this.modelCache = null;
+    }
+
+    /**
+     * Creates a session sharing the repository system, settings, additional remote repositories and the caches of the
+     * repository session with the given session, while having its own POM model and dependencies. This allows to work
+     * with multiple projects of a single reactor, possibly concurrently.
+     *
+     * @param parent the session to share the configuration with
+     * @param modelCache cache of raw and imported models shared by all sessions created for the reactor, might be
+     *        {@code null}
+     */
+    public MavenWorkingSessionImpl(MavenWorkingSessionImpl parent, ModelCache modelCache) {
+        super(parent);
+        this.remoteRepositories = new ArrayList<>();
+        this.additionalRemoteRepositories = new ArrayList<>(parent.additionalRemoteRepositories);
+        this.useMavenCentralRepository = parent.useMavenCentralRepository;
+
+        this.dependencies = new ArrayList<>();
+        this.dependencyManagement = new LinkedHashSet<>();
+        this.declaredDependencies = new LinkedHashSet<>();
+        this.modelCache = modelCache;
     }
 
     @Override
@@ -168,6 +197,9 @@ public class MavenWorkingSessionImpl extends ConfigurableMavenWorkingSessionImpl
         if (userProperties != null){
             request.setUserProperties(userProperties);
         }
+        if (modelCache != null) {
+            request.setModelCache(modelCache);
+        }
 
         ModelBuilder builder = new DefaultModelBuilderFactory().newInstance();
         ModelBuildingResult result;
@@ -189,8 +221,17 @@ public class MavenWorkingSessionImpl extends ConfigurableMavenWorkingSessionImpl
             throw new InvalidConfigurationFileException(sb.toString());
         }
 
-        // get and update model
-        Model model = result.getEffectiveModel();
+        return loadEffectiveModel(result.getEffectiveModel());
+    }
+
+    /**
+     * Uses the given effective model as the POM of this session, skipping the model building. The model is expected to
+     * have its POM file set.
+     *
+     * @param model the effective model
+     * @return Modified session instance
+     */
+    public MavenWorkingSession loadEffectiveModel(Model model) {
         this.model = model;
 
         // update model repositories
@@ -405,7 +446,13 @@ public class MavenWorkingSessionImpl extends ConfigurableMavenWorkingSessionImpl
 
     @Override
     public ParsedPomFile getParsedPomFile() {
-        return new ParsedPomFileImpl(model, getSession().getArtifactTypeRegistry());
+        // parsed POM file caches views of the model, so it is shared until another model is loaded
+        ParsedPomFile current = parsedPomFile;
+        if (current == null || current.getModel() != model) {
+            current = new ParsedPomFileImpl(model, getSession().getArtifactTypeRegistry());
+            parsedPomFile = current;
+        }
+        return current;
     }
 
     /**
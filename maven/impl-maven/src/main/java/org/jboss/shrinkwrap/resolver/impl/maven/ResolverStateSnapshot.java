@@ -0,0 +1,293 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.settings.Proxy;
+import org.apache.maven.settings.Server;
+import org.apache.maven.settings.Settings;
+import org.apache.maven.settings.io.xpp3.SettingsXpp3Reader;
+import org.apache.maven.settings.io.xpp3.SettingsXpp3Writer;
+import org.codehaus.plexus.interpolation.EnvarBasedValueSource;
+import org.codehaus.plexus.interpolation.InterpolationException;
+import org.codehaus.plexus.interpolation.PropertiesBasedValueSource;
+import org.codehaus.plexus.interpolation.RegexBasedInterpolator;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * Snapshot of the state of a Maven build which is needed to configure a resolver: the effective settings and the
+ * effective model of the project, including its repositories and dependency management.
+ * <p>
+ * The snapshot is written by the ShrinkWrap Maven Resolver Plugin and allows to configure a resolver in a forked test
+ * JVM without building the settings and the model again. A snapshot is valid only as long as the POM file and the
+ * settings files it was created from were not modified.
+ * </p>
+ * <p>
+ * The snapshot is usually written into the build directory, so it never contains credentials. Only the ids of the
+ * servers are stored. If any credentials were removed, the server and proxy entries are read from the settings files
+ * again when the snapshot is loaded. Only these entries are read and interpolated, the settings are not built again.
+ * </p>
+ */
+public class ResolverStateSnapshot {
+
+    private static final Logger log = Logger.getLogger(ResolverStateSnapshot.class.getName());
+
+    private static final String FORMAT_VERSION = "1";
+
+    private static final String VERSION_KEY = "version";
+    private static final String POM_FILE_KEY = "pom-file";
+    private static final String USER_SETTINGS_KEY = "user-settings";
+    private static final String GLOBAL_SETTINGS_KEY = "global-settings";
+    private static final String LAST_MODIFIED_SUFFIX = ".last-modified";
+    private static final String SETTINGS_KEY = "settings";
+    private static final String MODEL_KEY = "model";
+    private static final String CREDENTIALS_REMOVED_KEY = "credentials-removed";
+
+    private final Properties properties;
+
+    private ResolverStateSnapshot(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Creates a snapshot of the given project.
+     *
+     * @param pomFile POM file of the project
+     * @param userSettings user settings file, might be {@code null}
+     * @param globalSettings global settings file, might be {@code null}
+     * @param settings effective settings, their credentials are not stored
+     * @param model effective model of the project
+     * @return The snapshot
+     */
+    public static ResolverStateSnapshot create(File pomFile, File userSettings, File globalSettings, Settings settings,
+        Model model) {
+        final ResolverStateSnapshot snapshot = new ResolverStateSnapshot(new Properties());
+        snapshot.properties.setProperty(VERSION_KEY, FORMAT_VERSION);
+        snapshot.setFile(POM_FILE_KEY, pomFile);
+        snapshot.setFile(USER_SETTINGS_KEY, userSettings);
+        snapshot.setFile(GLOBAL_SETTINGS_KEY, globalSettings);
+        try {
+            final StringWriter settingsXml = new StringWriter();
+            final Settings settingsWithoutCredentials = withoutCredentials(settings);
+            new SettingsXpp3Writer().write(settingsXml, settingsWithoutCredentials);
+            snapshot.properties.setProperty(SETTINGS_KEY, settingsXml.toString());
+            snapshot.properties.setProperty(CREDENTIALS_REMOVED_KEY, String.valueOf(hasCredentials(settings)));
+            final StringWriter modelXml = new StringWriter();
+            new MavenXpp3Writer().write(modelXml, model);
+            snapshot.properties.setProperty(MODEL_KEY, modelXml.toString());
+        } catch (IOException e) {
+            // writing into a string
+            throw new IllegalStateException(e);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Writes the snapshot into the given file. The file is replaced atomically, so it is never read partially written.
+     *
+     * @param file target file
+     * @throws IOException If the file cannot be written
+     */
+    public void store(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        final Path tmpFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tmpFile)) {
+                properties.store(outputStream, "ShrinkWrap Resolver state snapshot");
+            }
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Loads a snapshot from the given file.
+     *
+     * @param file snapshot file
+     * @return The snapshot, or {@code null} if the file cannot be read, has an unknown format, or if any of the files
+     *         the snapshot was created from was modified since
+     */
+    public static ResolverStateSnapshot load(Path file) {
+        final Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            log.log(Level.FINE, "Unable to read resolver state snapshot " + file, e);
+            return null;
+        }
+        final ResolverStateSnapshot snapshot = new ResolverStateSnapshot(properties);
+        if (!FORMAT_VERSION.equals(properties.getProperty(VERSION_KEY)) || !snapshot.isFileUnchanged(POM_FILE_KEY)
+            || !snapshot.isFileUnchanged(USER_SETTINGS_KEY) || !snapshot.isFileUnchanged(GLOBAL_SETTINGS_KEY)) {
+            log.log(Level.FINE, "Resolver state snapshot {0} is outdated, ignoring it", file);
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return POM file of the project
+     */
+    public File getPomFile() {
+        return new File(properties.getProperty(POM_FILE_KEY));
+    }
+
+    /**
+     * @return A new instance of the effective settings, with the removed server and proxy credentials read from the
+     *         settings files
+     */
+    public Settings getSettings() {
+        final Settings settings;
+        try {
+            settings = new SettingsXpp3Reader().read(new StringReader(properties.getProperty(SETTINGS_KEY)), false);
+        } catch (IOException | XmlPullParserException e) {
+            throw new IllegalStateException("Unable to read settings from resolver state snapshot", e);
+        }
+        if (Boolean.parseBoolean(properties.getProperty(CREDENTIALS_REMOVED_KEY))) {
+            restoreCredentials(settings);
+        }
+        return settings;
+    }
+
+    /**
+     * @return A new instance of the effective model of the project, with its POM file set
+     */
+    public Model getModel() {
+        try {
+            final Model model = new MavenXpp3Reader().read(new StringReader(properties.getProperty(MODEL_KEY)), false);
+            model.setPomFile(getPomFile());
+            return model;
+        } catch (IOException | XmlPullParserException e) {
+            throw new IllegalStateException("Unable to read model from resolver state snapshot", e);
+        }
+    }
+
+    private static Settings withoutCredentials(Settings settings) {
+        final Settings copy = settings.clone();
+        final List<Server> servers = new ArrayList<>(settings.getServers().size());
+        for (Server server : settings.getServers()) {
+            final Server id = new Server();
+            id.setId(server.getId());
+            servers.add(id);
+        }
+        copy.setServers(servers);
+        for (Proxy proxy : copy.getProxies()) {
+            proxy.setUsername(null);
+            proxy.setPassword(null);
+        }
+        return copy;
+    }
+
+    private static boolean hasCredentials(Settings settings) {
+        for (Server server : settings.getServers()) {
+            if (server.getUsername() != null || server.getPassword() != null || server.getPassphrase() != null
+                || server.getPrivateKey() != null || server.getConfiguration() != null
+                || server.getFilePermissions() != null || server.getDirectoryPermissions() != null) {
+                return true;
+            }
+        }
+        for (Proxy proxy : settings.getProxies()) {
+            if (proxy.getUsername() != null || proxy.getPassword() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the settings files are unchanged, otherwise the snapshot would not have been loaded
+    private void restoreCredentials(Settings settings) {
+        // user settings take precedence over global ones, as when the settings are built
+        final Map<String, Server> fileServers = new HashMap<>();
+        final Map<String, Proxy> fileProxies = new HashMap<>();
+        readCredentials(GLOBAL_SETTINGS_KEY, fileServers, fileProxies);
+        readCredentials(USER_SETTINGS_KEY, fileServers, fileProxies);
+
+        final List<Server> servers = new ArrayList<>(settings.getServers().size());
+        for (Server server : settings.getServers()) {
+            servers.add(fileServers.getOrDefault(server.getId(), server));
+        }
+        settings.setServers(servers);
+        for (Proxy proxy : settings.getProxies()) {
+            final Proxy fileProxy = fileProxies.get(proxy.getId());
+            if (fileProxy != null) {
+                proxy.setUsername(fileProxy.getUsername());
+                proxy.setPassword(fileProxy.getPassword());
+            }
+        }
+    }
+
+    // reads only the server and proxy entries, interpolated the same way as when the settings are built
+    private void readCredentials(String key, Map<String, Server> servers, Map<String, Proxy> proxies) {
+        final String path = properties.getProperty(key);
+        if (path == null || !new File(path).isFile()) {
+            return;
+        }
+        try {
+            final RegexBasedInterpolator interpolator = new RegexBasedInterpolator();
+            interpolator.addValueSource(new PropertiesBasedValueSource(SecurityActions.getProperties()));
+            interpolator.addValueSource(new EnvarBasedValueSource());
+            interpolator.addPostProcessor((expression, value) -> value == null ? null : value.toString()
+                .replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;")
+                .replace("'", "&apos;"));
+            final String xml = interpolator.interpolate(new String(Files.readAllBytes(Paths.get(path)),
+                StandardCharsets.UTF_8), "settings");
+            final Settings fileSettings = new SettingsXpp3Reader().read(new StringReader(xml), false);
+            for (Server server : fileSettings.getServers()) {
+                servers.put(server.getId(), server);
+            }
+            for (Proxy proxy : fileSettings.getProxies()) {
+                proxies.put(proxy.getId(), proxy);
+            }
+        } catch (IOException | XmlPullParserException | InterpolationException e) {
+            log.log(Level.WARNING, "Unable to read credentials from settings file " + path + ", " + e.getMessage(), e);
+        }
+    }
+
+    private void setFile(String key, File file) {
+        if (file != null) {
+            properties.setProperty(key, file.getAbsolutePath());
+            properties.setProperty(key + LAST_MODIFIED_SUFFIX, String.valueOf(file.lastModified()));
+        }
+    }
+
+    private boolean isFileUnchanged(String key) {
+        final String path = properties.getProperty(key);
+        return path == null
+            || String.valueOf(new File(path).lastModified()).equals(properties.getProperty(key + LAST_MODIFIED_SUFFIX));
+    }
+}
@@ -65,6 +65,18 @@ public class SettingsManager {
         propagateProgrammaticOfflineIntoSettings();
     }
 
+    /**
+     * Uses the given effective settings, which are only completed with property values and decrypted passwords.
+     *
+     * @param settings effective settings, for instance as built by Maven itself
+     */
+    public void configureSettings(Settings settings) {
+        this.settings = new MavenSettingsBuilder().completeSettings(settings);
+
+        // ensure we keep offline(boolean) if previously set
+        propagateProgrammaticOfflineIntoSettings();
+    }
+
     /**
      * Returns an instance of the {@link Settings}, if it hasn't been created yet, it generates it from the default settings.
      *
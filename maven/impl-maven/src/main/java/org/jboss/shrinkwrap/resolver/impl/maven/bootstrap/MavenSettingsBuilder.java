@@ -187,7 +187,17 @@ public class MavenSettingsBuilder {
         }
 
         // get settings object and update it according to property values
-        Settings settings = result.getEffectiveSettings();
+        return completeSettings(result.getEffectiveSettings());
+    }
+
+    /**
+     * Updates already built effective settings according to property values and decrypts their passwords.
+     *
+     * @param settings
+     * The effective settings, for instance as built by Maven itself
+     * @return The updated {@link Settings}
+     */
+    public Settings completeSettings(Settings settings) {
         enrichWithLocalRepository(settings);
         enrichWithOfflineMode(settings);
         decryptPasswords(settings);
@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.maven.model.building.ModelCache;
+
+/**
+ * Thread safe {@link ModelCache} which allows to share raw and imported models, e.g. parents and BOMs, between
+ * multiple model building requests, such as the ones for modules of a single reactor.
+ */
+public class MavenModelCache implements ModelCache {
+
+    private final ConcurrentMap<List<String>, Object> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(String groupId, String artifactId, String version, String tag, Object data) {
+        cache.put(key(groupId, artifactId, version, tag), data);
+    }
+
+    @Override
+    public Object get(String groupId, String artifactId, String version, String tag) {
+        return cache.get(key(groupId, artifactId, version, tag));
+    }
+
+    private static List<String> key(String groupId, String artifactId, String version, String tag) {
+        return Arrays.asList(groupId, artifactId, version, tag);
+    }
+}
@@ -21,21 +21,19 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
-import java.util.Queue;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.model.Resource;
-import org.codehaus.plexus.util.DirectoryScanner;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.eclipse.aether.artifact.ArtifactTypeRegistry;
 import org.jboss.shrinkwrap.resolver.api.maven.PackagingType;
@@ -49,6 +47,9 @@ public class ParsedPomFileImpl implements ParsedPomFile {
     private final Model model;
     private final ArtifactTypeRegistry registry;
 
+    // configurations of all plugins converted on first access, never handed out, callers get copies of them
+    private volatile Map<String, Map<String, Object>> pluginConfigurations;
+
     public ParsedPomFileImpl(Model model, ArtifactTypeRegistry registry) {
         Validate.notNull(model, "Maven Project Object Model must not be null");
         Validate.notNull(registry, "Artifact Type Registry must not be null");
@@ -133,52 +134,12 @@ public class ParsedPomFileImpl implements ParsedPomFile {
 
     @Override
     public List<org.jboss.shrinkwrap.resolver.api.maven.pom.Resource> getResources() {
-
-        List<org.jboss.shrinkwrap.resolver.api.maven.pom.Resource> list = new ArrayList<>();
-
-        List<Resource> resources = model.getBuild().getResources();
-        // FIXME resources content should be filtered
-        for (Resource res : resources) {
-            // we add resources only if they can be read
-            File resourceDir = new File(res.getDirectory());
-            if (!Validate.isReadable(resourceDir)) {
-                continue;
-            }
-
-            // Adds all files from the resource directory, including those specified by includes and excluding those specified by excludes.
-            String targetPrefix = res.getTargetPath();
-            for (String relPath : FileUtils.listFiles(resourceDir, res.getIncludes(), res.getExcludes())) {
-                list.add(new org.jboss.shrinkwrap.resolver.api.maven.pom.Resource(new File(resourceDir, relPath),
-                        normalizeTargetPath(targetPrefix, relPath)));
-            }
-        }
-
-        return list;
+        return streamResources(model.getBuild().getResources()).collect(Collectors.toList());
     }
 
     @Override
     public List<org.jboss.shrinkwrap.resolver.api.maven.pom.Resource> getTestResources() {
-
-        List<org.jboss.shrinkwrap.resolver.api.maven.pom.Resource> list = new ArrayList<>();
-
-        List<Resource> resources = model.getBuild().getTestResources();
-        // FIXME resources content should be filtered
-        for (Resource res : resources) {
-            // we add resources only if they can be read
-            File resourceDir = new File(res.getDirectory());
-            if (!Validate.isReadable(resourceDir)) {
-                continue;
-            }
-
-            // Adds all files from the resource directory, including those specified by includes and excluding those specified by excludes.
-            String targetPrefix = res.getTargetPath();
-            for (String relPath : FileUtils.listFiles(resourceDir, res.getIncludes(), res.getExcludes())) {
-                list.add(new org.jboss.shrinkwrap.resolver.api.maven.pom.Resource(new File(resourceDir, relPath),
-                        normalizeTargetPath(targetPrefix, relPath)));
-            }
-        }
-
-        return list;
+        return streamResources(model.getBuild().getTestResources()).collect(Collectors.toList());
     }
 
     @Override
@@ -213,23 +174,25 @@ public class ParsedPomFileImpl implements ParsedPomFile {
         return Collections.emptySet();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Configurations of all plugins are converted only once per model. Each call returns a new copy of the
+     * configuration, including its nested maps and lists, which the caller is free to modify.
+     * </p>
+     */
     @Override
     public Map<String, Object> getPluginConfiguration(String pluginKey) {
-
-        Map<String, Plugin> plugins = model.getBuild().getPluginsAsMap();
-        Plugin plugin = plugins.get(pluginKey);
-        if (plugin == null) {
-            return Collections.emptyMap();
-        }
-
-        // get raw configuration
-        Xpp3Dom rawConfiguration = (Xpp3Dom) plugin.getConfiguration();
-        if (rawConfiguration == null) {
-            return Collections.emptyMap();
-        }
-        return toMappedConfiguration(rawConfiguration);
+        Map<String, Object> configuration = getPluginConfigurations().get(pluginKey);
+        return configuration == null ? new HashMap<>() : copyConfiguration(configuration);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each call returns a new copy of the properties, which the caller is free to modify.
+     * </p>
+     */
     @Override
     public Properties getProperties() {
         Properties props = new Properties();
@@ -237,6 +200,22 @@ public class ParsedPomFileImpl implements ParsedPomFile {
         return props;
     }
 
+    private Map<String, Map<String, Object>> getPluginConfigurations() {
+        Map<String, Map<String, Object>> configurations = pluginConfigurations;
+        if (configurations == null) {
+            configurations = new HashMap<>();
+            for (Map.Entry<String, Plugin> entry : model.getBuild().getPluginsAsMap().entrySet()) {
+                // get raw configuration
+                Xpp3Dom rawConfiguration = (Xpp3Dom) entry.getValue().getConfiguration();
+                if (rawConfiguration != null) {
+                    configurations.put(entry.getKey(), toMappedConfiguration(rawConfiguration));
+                }
+            }
+            pluginConfigurations = configurations;
+        }
+        return configurations;
+    }
+
     @SuppressWarnings("unchecked")
     private Map<String, Object> toMappedConfiguration(Xpp3Dom node) {
         final HashMap<String, Object> map = new HashMap<>();
@@ -263,6 +242,51 @@ public class ParsedPomFileImpl implements ParsedPomFile {
         return map;
     }
 
+    private static Map<String, Object> copyConfiguration(Map<String, Object> configuration) {
+        final HashMap<String, Object> copy = new HashMap<>(configuration);
+        for (Map.Entry<String, Object> entry : copy.entrySet()) {
+            entry.setValue(copyValue(entry.getValue()));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value instanceof Map) {
+            return copyConfiguration((Map<String, Object>) value);
+        }
+        if (value instanceof List) {
+            final List<Object> values = (List<Object>) value;
+            final ArrayList<Object> copy = new ArrayList<>(values.size());
+            for (Object item : values) {
+                copy.add(copyValue(item));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * Returns a lazily evaluated stream of files from the resource directories, each directory is scanned once the stream
+     * reaches it. Files included by several overlapping resource definitions with the same target are returned only once.
+     */
+    private Stream<org.jboss.shrinkwrap.resolver.api.maven.pom.Resource> streamResources(List<Resource> resources) {
+        final Set<List<String>> seen = new HashSet<>();
+        // FIXME resources content should be filtered
+        return resources.stream()
+            // we add resources only if they can be read
+            .filter(res -> Validate.isReadable(new File(res.getDirectory())))
+            .flatMap(res -> {
+                final File resourceDir = new File(res.getDirectory());
+                final String targetPrefix = res.getTargetPath();
+                // Adds all files from the resource directory, including those specified by includes and excluding those specified by excludes.
+                return ResourceScanner.listFiles(resourceDir, res.getIncludes(), res.getExcludes()).stream()
+                    .map(relPath -> new org.jboss.shrinkwrap.resolver.api.maven.pom.Resource(new File(resourceDir, relPath),
+                        normalizeTargetPath(targetPrefix, relPath)));
+            })
+            .filter(resource -> seen.add(Arrays.asList(resource.getSource().getAbsolutePath(), resource.getTargetPath())));
+    }
+
     private String normalizeTargetPath(String targetPrefix, String target) {
 
         StringBuilder sb = new StringBuilder();
@@ -282,55 +306,4 @@ public class ParsedPomFileImpl implements ParsedPomFile {
 
     }
 
-    /**
-     * Simple directory listing utility
-     *
-     * @author <a href="mailto:kpiwko@redhat.com">Karel Piwko</a>
-     *
-     */
-    private static final class FileUtils {
-
-        private static final String[] DEFAULT_INCLUDES = new String[] { "**/**" };
-        private static final String[] EMPTY_STRING_ARRAY = new String[0];
-
-        public static Collection<File> listFiles(File root) {
-            List<File> allFiles = new ArrayList<>();
-            Queue<File> dirs = new LinkedList<>();
-            dirs.add(root);
-            while (!dirs.isEmpty()) {
-                for (File f : Objects.requireNonNull(dirs.poll().listFiles())) {
-                    if (f.isDirectory()) {
-                        allFiles.add(f);
-                        dirs.add(f);
-                    } else if (f.isFile()) {
-                        allFiles.add(f);
-                    }
-                }
-            }
-            return allFiles;
-        }
-
-        public static Collection<String> listFiles(File baseDir, List<String> includes, List<String> excludes) {
-
-            final DirectoryScanner scanner = new DirectoryScanner();
-            scanner.setBasedir(baseDir);
-
-            if (excludes != null) {
-                scanner.setExcludes(excludes.toArray(EMPTY_STRING_ARRAY));
-            }
-            scanner.addDefaultExcludes();
-
-            if (includes != null && !includes.isEmpty()) {
-                scanner.setIncludes(includes.toArray(EMPTY_STRING_ARRAY));
-            } else {
-                scanner.setIncludes(DEFAULT_INCLUDES);
-            }
-
-            scanner.scan();
-
-            return Arrays.asList(scanner.getIncludedFiles());
-
-        }
-    }
-
 }
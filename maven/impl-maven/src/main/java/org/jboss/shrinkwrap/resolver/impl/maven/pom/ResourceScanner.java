@@ -0,0 +1,230 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven.pom;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.codehaus.plexus.util.AbstractScanner;
+import org.codehaus.plexus.util.MatchPatterns;
+
+/**
+ * Lists files of a resource directory matching includes and excludes, with the same semantics as plexus
+ * {@code DirectoryScanner} with default excludes. The directory tree is walked once with precompiled patterns, subtrees
+ * which are excluded as a whole are skipped.
+ * <p>
+ * Results are cached by the directory, includes and excludes. A cached result is reused as long as the modification
+ * times of all the walked directories are unchanged, which means that no file was added, removed or renamed.
+ * </p>
+ */
+final class ResourceScanner {
+
+    private static final String[] DEFAULT_INCLUDES = new String[] { "**/**" };
+    private static final String SUBTREE_SUFFIX = File.separator + "**";
+    private static final int MAX_CACHED_SCANS = 256;
+    // modifications within this window might not change the modification time of a directory on coarse file systems
+    private static final long RACY_WINDOW_MILLIS = 2000;
+
+    private static final Map<ScanKey, Scan> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<ScanKey, Scan>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ScanKey, Scan> eldest) {
+                return size() > MAX_CACHED_SCANS;
+            }
+        });
+
+    private ResourceScanner() {
+        throw new UnsupportedOperationException("No instances should be created; stateless class");
+    }
+
+    /**
+     * Lists files in the base directory.
+     *
+     * @param baseDir the directory to be scanned
+     * @param includes patterns of files to be included, all files are included if {@code null} or empty
+     * @param excludes patterns of files to be excluded, might be {@code null}
+     * @return paths of the files relative to the base directory, separated by {@link File#separator}
+     */
+    static List<String> listFiles(File baseDir, List<String> includes, List<String> excludes) {
+        final ScanKey key = new ScanKey(baseDir.getAbsoluteFile().toPath().normalize(), includes, excludes);
+        Scan scan = CACHE.get(key);
+        if (scan == null || !scan.isUpToDate()) {
+            scan = scan(key);
+            CACHE.put(key, scan);
+        }
+        return scan.files;
+    }
+
+    private static Scan scan(ScanKey key) {
+        final MatchPatterns includePatterns = MatchPatterns.from(normalize(key.includes.isEmpty()
+            ? Arrays.asList(DEFAULT_INCLUDES) : key.includes));
+
+        final List<String> excludes = new ArrayList<>(key.excludes);
+        Collections.addAll(excludes, AbstractScanner.DEFAULTEXCLUDES);
+        final List<String> normalizedExcludes = normalize(excludes);
+        final MatchPatterns excludePatterns = MatchPatterns.from(normalizedExcludes);
+
+        // excludes which match everything below a matching directory
+        final List<String> subtreeExcludes = new ArrayList<>();
+        for (String exclude : normalizedExcludes) {
+            if (exclude.equals("**") || exclude.endsWith(SUBTREE_SUFFIX)) {
+                subtreeExcludes.add(exclude);
+            }
+        }
+        final MatchPatterns subtreeExcludePatterns = MatchPatterns.from(subtreeExcludes);
+
+        final long started = System.currentTimeMillis();
+        final Path root = key.root;
+        final List<String> files = new ArrayList<>();
+        final Map<Path, FileTime> directories = new HashMap<>();
+        try {
+            Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        if (!dir.equals(root) && subtreeExcludePatterns.matches(relativize(root, dir), true)) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        directories.put(dir, attrs.lastModifiedTime());
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (attrs.isRegularFile()) {
+                            final String name = relativize(root, file);
+                            if (includePatterns.matches(name, true) && !excludePatterns.matches(name, true)) {
+                                files.add(name);
+                            }
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                        // unreadable files and symbolic link loops are ignored, same as DirectoryScanner does
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to scan resource directory " + root, e);
+        }
+        return new Scan(Collections.unmodifiableList(files), directories, started);
+    }
+
+    private static String relativize(Path root, Path path) {
+        return root.relativize(path).toString();
+    }
+
+    // same normalization as DirectoryScanner applies
+    private static List<String> normalize(List<String> patterns) {
+        final List<String> normalized = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            if (pattern == null) {
+                continue;
+            }
+            String p = pattern.trim();
+            if (!p.startsWith("%regex[")) {
+                p = p.replace(File.separatorChar == '/' ? '\\' : '/', File.separatorChar);
+                if (p.endsWith(File.separator)) {
+                    p += "**";
+                }
+            }
+            normalized.add(p);
+        }
+        return normalized;
+    }
+
+    private static final class ScanKey {
+        private final Path root;
+        private final List<String> includes;
+        private final List<String> excludes;
+
+        private ScanKey(Path root, List<String> includes, List<String> excludes) {
+            this.root = root;
+            this.includes = includes == null ? Collections.emptyList() : new ArrayList<>(includes);
+            this.excludes = excludes == null ? Collections.emptyList() : new ArrayList<>(excludes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final ScanKey other = (ScanKey) o;
+            return root.equals(other.root) && includes.equals(other.includes) && excludes.equals(other.excludes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(root, includes, excludes);
+        }
+    }
+
+    private static final class Scan {
+        private final List<String> files;
+        private final Map<Path, FileTime> directories;
+        private final boolean racy;
+
+        private Scan(List<String> files, Map<Path, FileTime> directories, long started) {
+            this.files = files;
+            this.directories = directories;
+            boolean modifiedRecently = false;
+            for (FileTime modified : directories.values()) {
+                modifiedRecently |= modified.toMillis() > started - RACY_WINDOW_MILLIS;
+            }
+            this.racy = modifiedRecently;
+        }
+
+        private boolean isUpToDate() {
+            if (racy) {
+                return false;
+            }
+            for (Map.Entry<Path, FileTime> directory : directories.entrySet()) {
+                try {
+                    if (!directory.getValue().equals(Files.getLastModifiedTime(directory.getKey()))) {
+                        return false;
+                    }
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
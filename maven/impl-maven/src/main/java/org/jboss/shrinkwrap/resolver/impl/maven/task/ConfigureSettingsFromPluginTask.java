@@ -16,24 +16,34 @@
  */
 package org.jboss.shrinkwrap.resolver.impl.maven.task;
 
+import java.nio.file.Paths;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 import org.jboss.shrinkwrap.resolver.api.maven.InvalidEnvironmentException;
 import org.jboss.shrinkwrap.resolver.api.maven.MavenWorkingSession;
+import org.jboss.shrinkwrap.resolver.impl.maven.MavenWorkingSessionImpl;
+import org.jboss.shrinkwrap.resolver.impl.maven.ResolverStateSnapshot;
 import org.jboss.shrinkwrap.resolver.impl.maven.util.Validate;
 
 /**
  * {@link MavenWorkingSessionTask} to be used in conjunction with the Maven Resolver Maven Plugin (which sets up the
- * environment)
+ * environment). If the plugin has written a {@link ResolverStateSnapshot}, the settings and the model are taken from it
+ * instead of being built again.
  *
  * @author <a href="mailto:kpiwko@redhat.com">Karel Piwko</a>
  */
 public enum ConfigureSettingsFromPluginTask implements MavenWorkingSessionTask<MavenWorkingSession> {
     INSTANCE;
 
+    private static final Logger log = Logger.getLogger(ConfigureSettingsFromPluginTask.class.getName());
+
     private static final String POM_FILE_KEY = "maven.execution.pom-file";
     private static final String OFFLINE_KEY = "maven.execution.offline";
     private static final String USER_SETTINGS_KEY = "maven.execution.user-settings";
     private static final String GLOBAL_SETTINGS_KEY = "maven.execution.global-settings";
     private static final String ACTIVE_PROFILES_KEY = "maven.execution.active-profiles";
+    private static final String RESOLVER_STATE_KEY = "maven.execution.resolver-state";
 
     private static final String CONSTRUCTION_EXCEPTION = "Configuration from environment requires that user has following properties set, however they were not detected in runtime environment:\n"
             + "\t"
@@ -66,6 +76,17 @@ public enum ConfigureSettingsFromPluginTask implements MavenWorkingSessionTask<M
     @Override
     public MavenWorkingSession execute(MavenWorkingSession session) {
 
+        String resolverState = SecurityActions.getProperty(RESOLVER_STATE_KEY);
+        if (!Validate.isNullOrEmpty(resolverState) && session instanceof MavenWorkingSessionImpl) {
+            ResolverStateSnapshot snapshot = ResolverStateSnapshot.load(Paths.get(resolverState));
+            if (snapshot != null) {
+                log.log(Level.FINE, "Configuring resolver from state snapshot {0}", resolverState);
+                MavenWorkingSessionImpl sessionImpl = (MavenWorkingSessionImpl) session;
+                sessionImpl.configureSettings(snapshot.getSettings());
+                return sessionImpl.loadEffectiveModel(snapshot.getModel());
+            }
+        }
+
         String pomFile = SecurityActions.getProperty(POM_FILE_KEY);
         if (Validate.isNullOrEmpty(pomFile)) {
             throw new InvalidEnvironmentException(CONSTRUCTION_EXCEPTION);
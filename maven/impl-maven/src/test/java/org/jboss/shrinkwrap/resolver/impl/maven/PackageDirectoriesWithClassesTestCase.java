@@ -2,6 +2,14 @@ package org.jboss.shrinkwrap.resolver.impl.maven;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipFile;
 
 import org.eclipse.aether.artifact.Artifact;
@@ -104,4 +112,57 @@ class PackageDirectoriesWithClassesTestCase {
         }
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that a library prepared by several threads at once is packaged only once and all of them get the same file.
+     */
+    @Test
+    void packageDirectoriesConcurrently() throws IOException, InterruptedException, ExecutionException {
+        File artifactFile = new File(
+            System.getProperty("user.dir") + "/target/repository/org/jboss/shrinkwrap/test/test-pom/1.0.0/pom.xml");
+
+        Artifact testPomArtifactMock = Mockito.mock(Artifact.class);
+        Mockito.when(testPomArtifactMock.getGroupId()).thenReturn("org.jboss.shrinkwrap.test");
+        Mockito.when(testPomArtifactMock.getArtifactId()).thenReturn("test-pom");
+        Mockito.when(testPomArtifactMock.getExtension()).thenReturn("xml");
+        Mockito.when(testPomArtifactMock.getClassifier()).thenReturn("");
+        Mockito.when(testPomArtifactMock.getVersion()).thenReturn("1.0.0");
+        Mockito.when(testPomArtifactMock.getFile()).thenReturn(artifactFile);
+        Mockito.when(testPomArtifactMock.getProperty(ArtifactProperties.TYPE, testPomArtifactMock.getExtension()))
+            .thenReturn("pom");
+
+        ArtifactRequest artifactRequest = new ArtifactRequest();
+        artifactRequest.setDependencyNode(new DefaultDependencyNode(new Dependency(testPomArtifactMock, "test")));
+        ArtifactResult mockedArtResult = new ArtifactResult(artifactRequest);
+        mockedArtResult.setArtifact(testPomArtifactMock);
+
+        final MavenResolvedArtifact mavenResolvedArtifact =
+            MavenResolvedArtifactImpl.fromArtifactResult(mockedArtResult);
+        final int threads = 8;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<File>> files = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                files.add(executor.submit(new Callable<File>() {
+                    @Override
+                    public File call() throws InterruptedException {
+                        startLatch.await();
+                        return mavenResolvedArtifact.asFile();
+                    }
+                }));
+            }
+            startLatch.countDown();
+
+            final File packaged = files.get(0).get();
+            for (Future<File> file : files) {
+                Assertions.assertSame(packaged, file.get(), "All threads get the same packaged file");
+            }
+            try (ZipFile outputZipFile = new ZipFile(packaged)) {
+                Assertions.assertNotNull(outputZipFile.getEntry("a/a.file"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Repository;
+import org.apache.maven.settings.Server;
+import org.apache.maven.settings.Settings;
+import org.jboss.shrinkwrap.resolver.api.maven.MavenWorkingSession;
+import org.jboss.shrinkwrap.resolver.api.maven.coordinate.MavenDependency;
+import org.jboss.shrinkwrap.resolver.impl.maven.task.ConfigureSettingsFromPluginTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests writing and loading of resolver state snapshots
+ */
+class ResolverStateSnapshotTestCase {
+
+    private static final String RESOLVER_STATE_KEY = "maven.execution.resolver-state";
+    private static final String PASSWORD_KEY = "shrinkwrap.test.password";
+
+    @TempDir
+    Path root;
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(RESOLVER_STATE_KEY);
+        System.clearProperty(PASSWORD_KEY);
+    }
+
+    @Test
+    void snapshotIsLoadedWhileSourceFilesAreUnchanged() throws IOException {
+        final Path snapshotFile = writeSnapshot();
+
+        final ResolverStateSnapshot snapshot = ResolverStateSnapshot.load(snapshotFile);
+        Assertions.assertNotNull(snapshot, "Snapshot is loaded");
+        Assertions.assertEquals(root.resolve("local-repository").toString(), snapshot.getSettings().getLocalRepository());
+        final Model model = snapshot.getModel();
+        Assertions.assertEquals("org.example:project:jar:1.0", model.getId());
+        Assertions.assertEquals(root.toFile(), model.getProjectDirectory());
+        Assertions.assertEquals("api", model.getDependencies().get(0).getArtifactId());
+        Assertions.assertEquals("managed", model.getDependencyManagement().getDependencies().get(0).getArtifactId());
+
+        Assertions.assertTrue(root.resolve("pom.xml").toFile().setLastModified(System.currentTimeMillis() - 60000));
+        Assertions.assertNull(ResolverStateSnapshot.load(snapshotFile), "Snapshot of modified POM is ignored");
+    }
+
+    @Test
+    void pluginConfigurationUsesSnapshot() throws IOException {
+        System.setProperty(RESOLVER_STATE_KEY, writeSnapshot().toString());
+
+        final MavenWorkingSession session = ConfigureSettingsFromPluginTask.INSTANCE.execute(new MavenWorkingSessionImpl());
+
+        final MavenDependency dependency = session.getParsedPomFile().getDependencies().iterator().next();
+        Assertions.assertEquals("api", dependency.getArtifactId());
+        Assertions.assertEquals("2.0", dependency.getVersion());
+        Assertions.assertEquals("managed", session.getParsedPomFile().getDependencyManagement().iterator().next()
+            .getArtifactId());
+    }
+
+    @Test
+    void credentialsAreReadFromSettingsFiles() throws IOException {
+        System.setProperty(PASSWORD_KEY, "secret");
+        final File pomFile = Files.write(root.resolve("pom.xml"), "<project/>".getBytes("UTF-8")).toFile();
+        final File userSettings = Files.write(root.resolve("settings.xml"), ("<settings><servers><server>"
+            + "<id>example</id><username>user</username><password>${" + PASSWORD_KEY + "}</password>"
+            + "</server></servers></settings>").getBytes("UTF-8")).toFile();
+        final Settings settings = new Settings();
+        final Server server = new Server();
+        server.setId("example");
+        server.setUsername("user");
+        server.setPassword("secret");
+        settings.addServer(server);
+
+        final Path snapshotFile = root.resolve("target/shrinkwrap-resolver-state.properties");
+        ResolverStateSnapshot.create(pomFile, userSettings, null, settings, new Model()).store(snapshotFile);
+        Assertions.assertFalse(new String(Files.readAllBytes(snapshotFile), "ISO-8859-1").contains("secret"),
+            "Password is not written into the snapshot");
+
+        final Server loaded = ResolverStateSnapshot.load(snapshotFile).getSettings().getServer("example");
+        Assertions.assertEquals("user", loaded.getUsername());
+        Assertions.assertEquals("secret", loaded.getPassword());
+    }
+
+    private Path writeSnapshot() throws IOException {
+        // the POM is not parsed at all, the effective model is taken from the snapshot
+        final File pomFile = Files.write(root.resolve("pom.xml"), "<project/>".getBytes("UTF-8")).toFile();
+
+        final Settings settings = new Settings();
+        settings.setLocalRepository(root.resolve("local-repository").toString());
+
+        final Model model = new Model();
+        model.setModelVersion("4.0.0");
+        model.setGroupId("org.example");
+        model.setArtifactId("project");
+        model.setVersion("1.0");
+        model.addDependency(dependency("api", "2.0"));
+        model.setDependencyManagement(new DependencyManagement());
+        model.getDependencyManagement().addDependency(dependency("managed", "3.0"));
+        final Repository repository = new Repository();
+        repository.setId("example");
+        repository.setUrl("https://repository.example.org/maven2");
+        model.addRepository(repository);
+
+        final ResolverStateSnapshot snapshot = ResolverStateSnapshot.create(pomFile, null, null, settings, model);
+
+        final Path snapshotFile = root.resolve("target/shrinkwrap-resolver-state.properties");
+        snapshot.store(snapshotFile);
+        return snapshotFile;
+    }
+
+    private static Dependency dependency(String artifactId, String version) {
+        final Dependency dependency = new Dependency();
+        dependency.setGroupId("org.example");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        return dependency;
+    }
+}
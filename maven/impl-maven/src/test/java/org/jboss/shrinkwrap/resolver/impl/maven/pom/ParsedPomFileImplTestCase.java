@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven.pom;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.util.artifact.DefaultArtifactTypeRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that callers get their own copies of the properties and of the plugin configurations
+ */
+class ParsedPomFileImplTestCase {
+
+    private static final String PLUGIN_KEY = "org.apache.maven.plugins:maven-war-plugin";
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pluginConfigurationIsCopyOwnedByCaller() {
+        final ParsedPomFileImpl parsedPomFile = new ParsedPomFileImpl(createModel(), new DefaultArtifactTypeRegistry());
+
+        final Map<String, Object> configuration = parsedPomFile.getPluginConfiguration(PLUGIN_KEY);
+        Assertions.assertEquals(Arrays.asList("**/*.a", "**/*.b"),
+            ((Map<String, Object>) configuration.get("excludes")).get("exclude"));
+
+        configuration.put("warName", "modified");
+        ((List<Object>) ((Map<String, Object>) configuration.get("excludes")).get("exclude")).clear();
+
+        final Map<String, Object> otherConfiguration = parsedPomFile.getPluginConfiguration(PLUGIN_KEY);
+        Assertions.assertNotSame(configuration, otherConfiguration);
+        Assertions.assertEquals("sample", otherConfiguration.get("warName"), "Modification is not visible to others");
+        Assertions.assertEquals(Arrays.asList("**/*.a", "**/*.b"),
+            ((Map<String, Object>) otherConfiguration.get("excludes")).get("exclude"),
+            "Modification of nested list is not visible to others");
+
+        final Map<String, Object> missingConfiguration = parsedPomFile.getPluginConfiguration("missing:plugin");
+        Assertions.assertTrue(missingConfiguration.isEmpty());
+        missingConfiguration.put("key", "value");
+    }
+
+    @Test
+    void propertiesAreCopyOwnedByCaller() {
+        final Model model = createModel();
+        final ParsedPomFileImpl parsedPomFile = new ParsedPomFileImpl(model, new DefaultArtifactTypeRegistry());
+
+        final Properties properties = parsedPomFile.getProperties();
+        Assertions.assertEquals("1.8", properties.getProperty("maven.compiler.source"));
+        properties.setProperty("maven.compiler.source", "11");
+
+        Assertions.assertEquals("1.8", parsedPomFile.getProperties().getProperty("maven.compiler.source"),
+            "Modification is not visible to others");
+        Assertions.assertEquals("1.8", model.getProperties().getProperty("maven.compiler.source"));
+
+        model.getProperties().setProperty("maven.compiler.target", "1.8");
+        Assertions.assertEquals("1.8", parsedPomFile.getProperties().getProperty("maven.compiler.target"),
+            "Properties reflect the current model");
+    }
+
+    private static Model createModel() {
+        final Xpp3Dom configuration = new Xpp3Dom("configuration");
+        configuration.addChild(node("warName", "sample"));
+        final Xpp3Dom excludes = new Xpp3Dom("excludes");
+        excludes.addChild(node("exclude", "**/*.a"));
+        excludes.addChild(node("exclude", "**/*.b"));
+        configuration.addChild(excludes);
+
+        final Plugin plugin = new Plugin();
+        plugin.setGroupId("org.apache.maven.plugins");
+        plugin.setArtifactId("maven-war-plugin");
+        plugin.setConfiguration(configuration);
+
+        final Build build = new Build();
+        build.addPlugin(plugin);
+
+        final Model model = new Model();
+        model.setBuild(build);
+        model.addProperty("maven.compiler.source", "1.8");
+        return model;
+    }
+
+    private static Xpp3Dom node(String name, String value) {
+        final Xpp3Dom node = new Xpp3Dom(name);
+        node.setValue(value);
+        return node;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.impl.maven.pom;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests listing of resource directories
+ */
+class ResourceScannerTestCase {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void includesAndExcludes() throws IOException {
+        createFiles("a.properties", "a.xml", "nested/b.properties", "nested/deep/c.properties", "excluded/d.properties",
+            ".git/config", "file.toExclude");
+
+        Assertions.assertEquals(
+            sorted("a.properties", "a.xml", "nested/b.properties", "nested/deep/c.properties", "excluded/d.properties"),
+            list(Collections.emptyList(), Arrays.asList("**/*.toExclude")), "Default excludes are applied");
+
+        Assertions.assertEquals(sorted("a.properties", "nested/b.properties", "nested/deep/c.properties"),
+            list(Arrays.asList("**/*.properties"), Arrays.asList("excluded/")), "Includes and excludes are applied");
+
+        Assertions.assertEquals(sorted("a.properties", "a.xml", "file.toExclude"),
+            list(Arrays.asList("*"), Collections.emptyList()), "Single star does not match nested files");
+    }
+
+    @Test
+    void addedFileInvalidatesCachedResult() throws IOException {
+        createFiles("a.properties");
+        // directories modified just now are not trusted by the cache, as their modification time might be too coarse
+        Files.setLastModifiedTime(root, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+        final List<String> scanned = ResourceScanner.listFiles(root.toFile(), null, null);
+        Assertions.assertEquals(sorted("a.properties"), scanned);
+        Assertions.assertSame(scanned, ResourceScanner.listFiles(root.toFile(), null, null),
+            "Unchanged directory is not scanned again");
+
+        createFiles("nested/b.properties");
+        Assertions.assertNotSame(scanned, ResourceScanner.listFiles(root.toFile(), null, null),
+            "Added file invalidates cached result");
+        Assertions.assertEquals(sorted("a.properties", "nested/b.properties"), list(null, null));
+    }
+
+    private List<String> list(List<String> includes, List<String> excludes) {
+        final List<String> files = new ArrayList<>();
+        for (String file : ResourceScanner.listFiles(root.toFile(), includes, excludes)) {
+            files.add(file.replace(File.separatorChar, '/'));
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    private void createFiles(String... paths) throws IOException {
+        for (String path : paths) {
+            final Path file = root.resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.write(file, path.getBytes("UTF-8"));
+        }
+    }
+
+    private static List<String> sorted(String... paths) {
+        final List<String> files = new ArrayList<>(Arrays.asList(paths));
+        Collections.sort(files);
+        return files;
+    }
+}
@@ -17,23 +17,17 @@
 package org.jboss.shrinkwrap.resolver.plugin;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import org.apache.maven.classrealm.ClassRealmManager;
-import org.apache.maven.plugins.annotations.Component;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.classworlds.realm.ClassRealm;
-import org.jboss.shrinkwrap.resolver.api.maven.Maven;
 import org.jboss.shrinkwrap.resolver.api.maven.MavenArtifactInfo;
-import org.jboss.shrinkwrap.resolver.api.maven.MavenResolvedArtifact;
 import org.jboss.shrinkwrap.resolver.api.maven.ScopeType;
 
 /**
@@ -63,23 +57,27 @@ public class DependencyTreeMojo extends AbstractResolverMojo {
     @Parameter(defaultValue = "${scope}")
     private String scope;
 
-    // Maven is by default removing some of the artifacts from plugin classpath
-    // namely, org.apache.maven.DefaultArtifactFilterManager does that
-    // as the API is not configurable, we need to get Core Class Realm and combine it with plugin ClassRealm
-    @Component
-    private ClassRealmManager classRealmManager;
+    /**
+     * Output format, one of text, json, dot or graphml
+     */
+    @Parameter(property = "format", defaultValue = "text")
+    private String format;
 
-    @Override
-    public void execute() {
+    /**
+     * Whether dependencies of an artifact are written only the first time the artifact appears in the tree
+     */
+    @Parameter(property = "deduplicate", defaultValue = "false")
+    private boolean deduplicate;
 
-        // first, we need to propagate environment settings
-        PropagateExecutionContextMojo mojo = new PropagateExecutionContextMojo();
-        mojo.setNamespace("maven.execution.");
-        mojo.setSession(session);
-        mojo.execute();
+    @Override
+    public void execute() throws MojoExecutionException {
 
-        // propagate into current environment
-        SecurityActions.addProperties(session.getUserProperties());
+        DependencyTreeWriter.Format outputFormat;
+        try {
+            outputFormat = DependencyTreeWriter.Format.fromString(format);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
 
         MavenProject project = session.getCurrentProject();
 
@@ -89,97 +87,34 @@ public class DependencyTreeMojo extends AbstractResolverMojo {
             scopes = new ScopeType[] { ScopeType.fromScopeType(scope) };
         }
 
-        // get ClassLoader that contains both Maven and plugin class path
-        ClassLoader cls = getCombinedClassLoader(classRealmManager);
+        // Maven has already collected the dependencies of the project, so they are not resolved again
+        MavenArtifactInfo[] artifacts = ProjectArtifactInfo.fromProjectArtifacts(project.getArtifacts(), scopes);
 
-        // skip resolution if no dependencies are in the project (e.g. parent aggregator)
-        MavenResolvedArtifact[] artifacts;
-
-        if (project.getDependencies() == null || project.getDependencies().isEmpty()) {
-            artifacts = new MavenResolvedArtifact[0];
-        } else {
-            artifacts = Maven.configureResolverViaPlugin(cls)
-                .importDependencies(scopes)
-                .resolve()
-                .withTransitivity()
-                .asResolvedArtifact();
-        }
+        String projectGAV = project.getGroupId() + ":" + project.getArtifactId() + ":" + project.getPackaging() + ":"
+            + project.getVersion();
 
-        StringBuilder projectGAV = new StringBuilder();
-        projectGAV.append(project.getGroupId()).append(":").append(project.getArtifactId()).append(":")
-            .append(project.getPackaging()).append(":").append(project.getVersion()).append("\n");
-
-        String dependencyTree = buildDependencyTree(projectGAV, "+- ", artifacts);
-
-        // write output to file if specified
+        // write output to file if specified, streaming the tree as it is traversed
         if (outputFile != null) {
-            try (FileWriter writer = new FileWriter(outputFile)) {
-                writer.write(dependencyTree);
+            try (Writer writer = Files.newBufferedWriter(outputFile.toPath(), StandardCharsets.UTF_8)) {
+                DependencyTreeWriter.create(outputFormat, writer, deduplicate).write(projectGAV, artifacts);
                 getLog().info("Dependency tree output was written into: " + outputFile.getAbsolutePath());
             } catch (IOException e) {
-
+                throw new MojoExecutionException("Unable to write dependency tree into " + outputFile.getAbsolutePath(), e);
             }
         }
         // write an output to console
         else {
+            StringWriter writer = new StringWriter();
+            try {
+                DependencyTreeWriter.create(outputFormat, writer, deduplicate).write(projectGAV, artifacts);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to write dependency tree", e);
+            }
             String outputString = OUTPUT_DELIMITER + "\nShrinkWrap Maven: Dependency Tree\n" + OUTPUT_DELIMITER +
-                    "\n" + dependencyTree + OUTPUT_DELIMITER;
+                    "\n" + writer + OUTPUT_DELIMITER;
             getLog().info(outputString);
         }
 
     }
 
-    private static String buildDependencyTree(StringBuilder sb, String indent, MavenArtifactInfo[] artifacts) {
-
-        int length = artifacts.length - 1;
-        for (int i = 0; i <= length; i++) {
-            MavenArtifactInfo artifact = artifacts[i];
-
-            String parsedIndent = indent;
-            String nextLevelIndent = indent.replaceAll("\\+- $", "\\|  ") + "+- ";
-            // indent last one in different manner
-            if (i == length) {
-                parsedIndent = parsedIndent.replaceAll("\\+- $", "\\\\- ");
-                nextLevelIndent = indent.replaceAll("\\+- $", "   ") + "+- ";
-            }
-
-            sb.append(parsedIndent).append(artifact.getCoordinate().toCanonicalForm()).append(" [").append(artifact.getScope())
-                .append("]").append("\n");
-            buildDependencyTree(sb, nextLevelIndent, artifact.getDependencies());
-        }
-
-        return sb.toString();
-    }
-
-    // creates a class loader that has access to both current thread classloader and Maven Core classloader
-    private ClassLoader getCombinedClassLoader(ClassRealmManager manager) {
-
-        List<URL> urlList = new ArrayList<>();
-
-        // add thread classpath
-        ClassLoader threadCL = SecurityActions.getThreadContextClassLoader();
-        if (threadCL instanceof URLClassLoader) {
-            urlList.addAll(Arrays.asList(((URLClassLoader) threadCL).getURLs()));
-        }
-
-        // add maven core libraries
-        ClassRealm core = manager.getCoreRealm();
-        if (core != null) {
-            urlList.addAll(Arrays.asList(core.getURLs()));
-        }
-
-        ClassRealm mavenApi = manager.getMavenApiRealm();
-        if (mavenApi != null) {
-            urlList.addAll(Arrays.asList(mavenApi.getURLs()));
-        }
-
-        // we need to keep threadCL as parent, otherwise we'll get ClassCastException in runtime
-        URLClassLoader cl = new URLClassLoader(urlList.toArray(new URL[0]), threadCL);
-
-        // for (URL u : cl.getURLs()) {
-        // System.out.println("CLR: " + u);
-        // }
-
-        return cl;
-    }
 }
@@ -0,0 +1,347 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.plugin;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.jboss.shrinkwrap.resolver.api.maven.MavenArtifactInfo;
+
+/**
+ * Streams a dependency tree to a {@link Writer}, node by node, so the tree is never held in memory as a whole.
+ * <p>
+ * If deduplication is enabled, the dependencies of an artifact are written only the first time the artifact is
+ * reached. Graph formats always write each node and edge once.
+ *
+ */
+abstract class DependencyTreeWriter {
+
+    /**
+     * Supported output formats
+     */
+    enum Format {
+        TEXT, JSON, DOT, GRAPHML;
+
+        static Format fromString(String format) {
+            if (format == null || format.isEmpty()) {
+                return TEXT;
+            }
+            try {
+                return valueOf(format.toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported dependency tree format " + format
+                    + ", expected one of text, json, dot or graphml");
+            }
+        }
+    }
+
+    protected final Writer writer;
+    private final boolean deduplicate;
+    private final Set<String> expanded = new HashSet<>();
+
+    DependencyTreeWriter(Writer writer, boolean deduplicate) {
+        this.writer = writer;
+        this.deduplicate = deduplicate;
+    }
+
+    static DependencyTreeWriter create(Format format, Writer writer, boolean deduplicate) {
+        switch (format) {
+            case JSON:
+                return new JsonWriter(writer, deduplicate);
+            case DOT:
+                return new DotWriter(writer);
+            case GRAPHML:
+                return new GraphMlWriter(writer);
+            default:
+                return new TextWriter(writer, deduplicate);
+        }
+    }
+
+    /**
+     * Writes the tree of the project with given coordinates.
+     *
+     * @param project Coordinates of the project, the root of the tree
+     * @param artifacts Direct dependencies of the project
+     * @throws IOException If the tree cannot be written
+     */
+    void write(String project, MavenArtifactInfo[] artifacts) throws IOException {
+        startTree(project);
+        writeDependencies(project, artifacts, 0);
+        endTree();
+        writer.flush();
+    }
+
+    private void writeDependencies(String parent, MavenArtifactInfo[] artifacts, int depth) throws IOException {
+        for (int i = 0; i < artifacts.length; i++) {
+            MavenArtifactInfo artifact = artifacts[i];
+            String coordinate = artifact.getCoordinate().toCanonicalForm();
+            MavenArtifactInfo[] dependencies = artifact.getDependencies();
+            boolean omitted = deduplicate && dependencies.length > 0 && !expanded.add(coordinate);
+            startNode(parent, coordinate, artifact.getScope().toString(), depth, i == artifacts.length - 1, omitted);
+            if (!omitted) {
+                writeDependencies(coordinate, dependencies, depth + 1);
+            }
+            endNode();
+        }
+    }
+
+    abstract void startTree(String project) throws IOException;
+
+    abstract void startNode(String parent, String coordinate, String scope, int depth, boolean last, boolean omitted)
+        throws IOException;
+
+    abstract void endNode() throws IOException;
+
+    abstract void endTree() throws IOException;
+
+    /**
+     * Plain text tree, in the format used by Maven Dependency Plugin
+     */
+    static class TextWriter extends DependencyTreeWriter {
+
+        // prefix of the current level, "|  " for each open parent and "   " for each finished one
+        private final StringBuilder indent = new StringBuilder();
+
+        TextWriter(Writer writer, boolean deduplicate) {
+            super(writer, deduplicate);
+        }
+
+        @Override
+        void startTree(String project) throws IOException {
+            writer.write(project);
+            writer.write('\n');
+        }
+
+        @Override
+        void startNode(String parent, String coordinate, String scope, int depth, boolean last, boolean omitted)
+            throws IOException {
+            indent.setLength(depth * 3);
+            writer.append(indent).append(last ? "\\- " : "+- ").append(coordinate).append(" [").append(scope).append(']');
+            if (omitted) {
+                writer.write(" (dependencies omitted for duplicate)");
+            }
+            writer.write('\n');
+            indent.append(last ? "   " : "|  ");
+        }
+
+        @Override
+        void endNode() {
+        }
+
+        @Override
+        void endTree() {
+        }
+    }
+
+    /**
+     * Nested JSON objects with coordinate, scope and dependencies of each artifact
+     */
+    static class JsonWriter extends DependencyTreeWriter {
+
+        // whether the current level already contains an element, so the next one needs a separator
+        private boolean hasSibling;
+
+        JsonWriter(Writer writer, boolean deduplicate) {
+            super(writer, deduplicate);
+        }
+
+        @Override
+        void startTree(String project) throws IOException {
+            writer.write("{\"coordinate\":");
+            writeString(project);
+            writer.write(",\"dependencies\":[");
+            hasSibling = false;
+        }
+
+        @Override
+        void startNode(String parent, String coordinate, String scope, int depth, boolean last, boolean omitted)
+            throws IOException {
+            if (hasSibling) {
+                writer.write(',');
+            }
+            writer.write("\n{\"coordinate\":");
+            writeString(coordinate);
+            writer.write(",\"scope\":");
+            writeString(scope);
+            if (omitted) {
+                writer.write(",\"omitted\":true");
+            }
+            writer.write(",\"dependencies\":[");
+            hasSibling = false;
+        }
+
+        @Override
+        void endNode() throws IOException {
+            writer.write("]}");
+            hasSibling = true;
+        }
+
+        @Override
+        void endTree() throws IOException {
+            writer.write("]}\n");
+        }
+
+        private void writeString(String value) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    writer.write('\\');
+                    writer.write(c);
+                } else if (c < 0x20) {
+                    writer.write(String.format("\\u%04x", (int) c));
+                } else {
+                    writer.write(c);
+                }
+            }
+            writer.write('"');
+        }
+    }
+
+    /**
+     * Graphviz directed graph, with the scope as the label of the edges
+     */
+    static class DotWriter extends DependencyTreeWriter {
+
+        private final Set<String> edges = new HashSet<>();
+
+        DotWriter(Writer writer) {
+            super(writer, true);
+        }
+
+        @Override
+        void startTree(String project) throws IOException {
+            writer.write("digraph ");
+            writeId(project);
+            writer.write(" {\n");
+        }
+
+        @Override
+        void startNode(String parent, String coordinate, String scope, int depth, boolean last, boolean omitted)
+            throws IOException {
+            if (edges.add(parent + '\n' + coordinate)) {
+                writer.write("  ");
+                writeId(parent);
+                writer.write(" -> ");
+                writeId(coordinate);
+                writer.write(" [label=");
+                writeId(scope);
+                writer.write("];\n");
+            }
+        }
+
+        @Override
+        void endNode() {
+        }
+
+        @Override
+        void endTree() throws IOException {
+            writer.write("}\n");
+        }
+
+        private void writeId(String id) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < id.length(); i++) {
+                char c = id.charAt(i);
+                if (c == '"' || c == '\\') {
+                    writer.write('\\');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+    }
+
+    /**
+     * GraphML directed graph, with the scope as data of the edges
+     */
+    static class GraphMlWriter extends DependencyTreeWriter {
+
+        private final Set<String> nodes = new HashSet<>();
+        private final Set<String> edges = new HashSet<>();
+
+        GraphMlWriter(Writer writer) {
+            super(writer, true);
+        }
+
+        @Override
+        void startTree(String project) throws IOException {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+            writer.write("  <key id=\"scope\" for=\"edge\" attr.name=\"scope\" attr.type=\"string\"/>\n");
+            writer.write("  <graph id=\"dependencies\" edgedefault=\"directed\">\n");
+            writeNode(project);
+        }
+
+        @Override
+        void startNode(String parent, String coordinate, String scope, int depth, boolean last, boolean omitted)
+            throws IOException {
+            writeNode(coordinate);
+            if (edges.add(parent + '\n' + coordinate)) {
+                writer.write("    <edge source=\"");
+                writeEscaped(parent);
+                writer.write("\" target=\"");
+                writeEscaped(coordinate);
+                writer.write("\"><data key=\"scope\">");
+                writeEscaped(scope);
+                writer.write("</data></edge>\n");
+            }
+        }
+
+        @Override
+        void endNode() {
+        }
+
+        @Override
+        void endTree() throws IOException {
+            writer.write("  </graph>\n</graphml>\n");
+        }
+
+        private void writeNode(String coordinate) throws IOException {
+            if (nodes.add(coordinate)) {
+                writer.write("    <node id=\"");
+                writeEscaped(coordinate);
+                writer.write("\"/>\n");
+            }
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '<':
+                        writer.write("&lt;");
+                        break;
+                    case '>':
+                        writer.write("&gt;");
+                        break;
+                    case '&':
+                        writer.write("&amp;");
+                        break;
+                    case '"':
+                        writer.write("&quot;");
+                        break;
+                    default:
+                        writer.write(c);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.resolver.plugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.jboss.shrinkwrap.resolver.api.maven.MavenArtifactInfo;
+import org.jboss.shrinkwrap.resolver.api.maven.PackagingType;
+import org.jboss.shrinkwrap.resolver.api.maven.ScopeType;
+import org.jboss.shrinkwrap.resolver.api.maven.coordinate.MavenCoordinates;
+import org.jboss.shrinkwrap.resolver.impl.maven.MavenArtifactInfoImpl;
+
+/**
+ * {@link MavenArtifactInfo} created from an artifact already collected by Maven for the current project, so the
+ * dependency graph is not collected again. The graph is rebuilt from the dependency trails of the artifacts.
+ *
+ */
+class ProjectArtifactInfo extends MavenArtifactInfoImpl {
+
+    private ProjectArtifactInfo(Artifact artifact, ScopeType scopeType, MavenArtifactInfo[] dependencies) {
+        super(MavenCoordinates.createCoordinate(artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion(),
+            PackagingType.of(artifact.getType()), classifier(artifact)), artifact.getVersion(), artifact.isSnapshot(),
+            artifact.getArtifactHandler() != null ? artifact.getArtifactHandler().getExtension() : artifact.getType(),
+            scopeType, dependencies, artifact.isOptional());
+    }
+
+    /**
+     * Converts the artifacts of a project into a list of all artifacts with the given scopes, each of them with its
+     * dependencies, which is the same structure as a transitive resolution produces.
+     *
+     * @param artifacts Artifacts of the project, as collected by Maven
+     * @param scopes Scopes of the listed artifacts
+     * @return The converted artifacts, in the order Maven collected them
+     */
+    static MavenArtifactInfo[] fromProjectArtifacts(Collection<Artifact> artifacts, ScopeType... scopes) {
+        // the trail starts with the project and ends with the artifact itself
+        final Map<String, List<Artifact>> children = new HashMap<>();
+        for (Artifact artifact : artifacts) {
+            final List<String> trail = artifact.getDependencyTrail();
+            if (trail != null && trail.size() > 2) {
+                children.computeIfAbsent(trail.get(trail.size() - 2), key -> new ArrayList<>()).add(artifact);
+            }
+        }
+
+        final Set<ScopeType> scopeTypes = EnumSet.noneOf(ScopeType.class);
+        scopeTypes.addAll(Arrays.asList(scopes));
+        final Map<String, MavenArtifactInfo> converted = new HashMap<>();
+        final List<MavenArtifactInfo> result = new ArrayList<>();
+        for (Artifact artifact : artifacts) {
+            final MavenArtifactInfo info = convert(artifact, children, converted);
+            if (scopeTypes.contains(info.getScope())) {
+                result.add(info);
+            }
+        }
+        return result.toArray(new MavenArtifactInfo[0]);
+    }
+
+    // a subtree is converted once and shared by all occurrences of the artifact
+    private static MavenArtifactInfo convert(Artifact artifact, Map<String, List<Artifact>> children,
+        Map<String, MavenArtifactInfo> converted) {
+        MavenArtifactInfo info = converted.get(artifact.getId());
+        if (info == null) {
+            final List<Artifact> dependencies = children.getOrDefault(artifact.getId(), Collections.emptyList());
+            final MavenArtifactInfo[] dependencyInfos = new MavenArtifactInfo[dependencies.size()];
+            for (int i = 0; i < dependencyInfos.length; i++) {
+                dependencyInfos[i] = convert(dependencies.get(i), children, converted);
+            }
+            info = new ProjectArtifactInfo(artifact, scopeType(artifact), dependencyInfos);
+            converted.put(artifact.getId(), info);
+        }
+        return info;
+    }
+
+    private static ScopeType scopeType(Artifact artifact) {
+        // SHRINKRES-143 lets ignore invalid scope
+        try {
+            return ScopeType.fromScopeType(artifact.getScope());
+        } catch (IllegalArgumentException e) {
+            return ScopeType.RUNTIME;
+        }
+    }
+
+    private static String classifier(Artifact artifact) {
+        return artifact.hasClassifier() ? artifact.getClassifier() : PackagingType.of(artifact.getType()).getClassifier();
+    }
+}
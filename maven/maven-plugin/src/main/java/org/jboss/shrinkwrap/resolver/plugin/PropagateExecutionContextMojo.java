@@ -17,6 +17,7 @@
 package org.jboss.shrinkwrap.resolver.plugin;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.Properties;
 
@@ -26,6 +27,9 @@ import org.apache.maven.model.Profile;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.settings.Settings;
+import org.jboss.shrinkwrap.resolver.impl.maven.ResolverStateSnapshot;
 
 /**
  * Propagates current Maven Execution properties to mimic they were specified on the command line by user himself.
@@ -38,7 +42,13 @@ import org.apache.maven.plugins.annotations.Parameter;
  * <li>user-settings</li>
  * <li>global-settings</li>
  * <li>active-profiles</li>
+ * <li>resolver-state, if a snapshot of the resolver state is written</li>
  * </ul>
+ * <p>
+ * The snapshot of the resolver state contains the effective settings and the effective model of the project, so the
+ * resolver configured via plugin doesn't need to build them again in every forked JVM. Dependencies are still
+ * resolved by the resolver itself.
+ * </p>
  *
  */
 @Mojo(name = "propagate-execution-context", defaultPhase = LifecyclePhase.PROCESS_TEST_CLASSES)
@@ -47,6 +57,16 @@ public class PropagateExecutionContextMojo extends AbstractResolverMojo {
     @Parameter(property = "namespace", defaultValue = "maven.execution.")
     private String namespace;
 
+    /**
+     * Whether to write a snapshot of the resolver state. Server and proxy credentials are not written into the
+     * snapshot, they are read from the settings files again by the resolver
+     */
+    @Parameter(property = "resolverStateSnapshot", defaultValue = "false")
+    private boolean resolverStateSnapshot;
+
+    @Parameter(property = "resolverStateFile", defaultValue = "${project.build.directory}/shrinkwrap-resolver-state.properties")
+    private File resolverStateFile;
+
     @Override
     public void execute() {
 
@@ -84,9 +104,31 @@ public class PropagateExecutionContextMojo extends AbstractResolverMojo {
             updateUserProperty(properties, "active-profiles", sb.substring(0, sb.length() - 1));
         }
 
+        // write resolver state
+        if (resolverStateSnapshot && resolverStateFile != null) {
+            writeResolverState(request, properties);
+        }
+
         request.setUserProperties(properties);
     }
 
+    private void writeResolverState(MavenExecutionRequest request, Properties properties) {
+        MavenProject project = session.getCurrentProject();
+
+        Settings settings = session.getSettings().clone();
+        settings.setOffline(session.isOffline());
+
+        ResolverStateSnapshot snapshot = ResolverStateSnapshot.create(project.getFile(), request.getUserSettingsFile(),
+            request.getGlobalSettingsFile(), settings, project.getModel());
+        try {
+            snapshot.store(resolverStateFile.toPath());
+            updateUserProperty(properties, "resolver-state", resolverStateFile.getAbsolutePath());
+        } catch (IOException e) {
+            getLog().warn("Unable to write resolver state snapshot into " + resolverStateFile.getAbsolutePath() + ", "
+                + e.getMessage());
+        }
+    }
+
     /**
      * Gets current value of name space
      *